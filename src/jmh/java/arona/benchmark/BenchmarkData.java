@@ -0,0 +1,137 @@
+package arona.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import arona.task.DeadlineTask;
+import arona.task.EventTask;
+import arona.task.Task;
+import arona.task.ToDoTask;
+
+/**
+ * The `BenchmarkData` class generates task lists and storage files for the benchmarks.
+ * The same count always produces the same tasks, so results from different runs can be compared.
+ * Descriptions are drawn from a small vocabulary, so common words match many tasks and rare ones few.
+ */
+public class BenchmarkData {
+    /** A word found in about one task in ten. */
+    public static final String COMMON_WORD = "meeting";
+    /** A word found in about one task in a thousand. */
+    public static final String RARE_WORD = "dentist";
+
+    private static final String[] WORDS = {
+        "buy", "read", "write", "call", "review", "plan", "fix", "book", "clean", "submit",
+        "report", "groceries", "homework", "project", "slides", "email", "notes", "budget", "trip", "team"
+    };
+    private static final LocalDate FIRST_DATE = LocalDate.of(2023, 1, 1);
+    private static final long SEED = 2103;
+
+    /**
+     * Creates a list of to-do, deadline and event tasks in roughly equal numbers.
+     *
+     * @param count The number of tasks to create.
+     * @return The tasks.
+     */
+    public static List<Task> createTasks(int count) {
+        Random random = new Random(SEED);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = createDescription(random, i);
+            int isMarked = random.nextInt(4) == 0 ? 1 : 0;
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(730));
+            switch (i % 3) {
+            case 0:
+                tasks.add(new ToDoTask(description, isMarked));
+                break;
+            case 1:
+                tasks.add(new DeadlineTask(description, date, isMarked));
+                break;
+            default:
+                tasks.add(new EventTask(description, "from: " + date, "to: " + date.plusDays(1), isMarked));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a text storage file holding the tasks created by {@link #createTasks(int)}.
+     *
+     * @param count The number of tasks to write.
+     * @param file  The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeDataFile(int count, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            for (Task task : createTasks(count)) {
+                writer.write(toData(task));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes a temporary text storage file that is deleted when the JVM exits.
+     *
+     * @param count The number of tasks to write.
+     * @return The path to the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static Path writeTemporaryDataFile(int count) throws IOException {
+        Path file = Files.createTempFile("arona-bench-" + count + "-", ".txt");
+        file.toFile().deleteOnExit();
+        writeDataFile(count, file);
+        return file;
+    }
+
+    /**
+     * Writes data files of 1k, 100k and 1M tasks into a directory, for profiling the application by hand.
+     * Usage: {@code BenchmarkData [DIRECTORY]}
+     *
+     * @param args The directory to write to, which defaults to `build/bench-data`.
+     * @throws IOException If a file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "build/bench-data");
+        Files.createDirectories(directory);
+        for (int count : new int[] {1_000, 100_000, 1_000_000}) {
+            Path file = directory.resolve("arona-" + count + ".txt");
+            writeDataFile(count, file);
+            System.out.println("Wrote " + count + " tasks to " + file);
+        }
+    }
+
+    private static String createDescription(Random random, int i) {
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        int wordCount = 1 + random.nextInt(4);
+        for (int j = 0; j < wordCount; j++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        if (i % 10 == 0) {
+            description.append(' ').append(COMMON_WORD);
+        }
+        if (i % 1000 == 7) {
+            description.append(' ').append(RARE_WORD);
+        }
+        return description.toString();
+    }
+
+    private static String toData(Task task) {
+        String status = task.getIsDone() ? "1" : "0";
+        if (task instanceof DeadlineTask) {
+            return "D|" + status + "|" + task.getDescription() + "|" + ((DeadlineTask) task).getDate();
+        } else if (task instanceof EventTask) {
+            EventTask event = (EventTask) task;
+            return "E|" + status + "|" + task.getDescription() + "|" + event.getFrom() + "|" + event.getTo();
+        }
+        return "T|" + status + "|" + task.getDescription();
+    }
+}
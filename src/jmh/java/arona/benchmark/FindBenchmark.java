@@ -0,0 +1,78 @@
+package arona.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arona.commands.FindCommand;
+import arona.task.SearchQuery;
+import arona.task.Task;
+import arona.task.TaskList;
+
+/**
+ * Measures searching task lists of 1k, 100k and 1M tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FindBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskList taskList;
+    private SearchQuery prefixQuery;
+
+    /**
+     * Creates the task list and runs one search, so that the word index is built before measuring.
+     */
+    @Setup
+    public void setUp() {
+        taskList = new TaskList(BenchmarkData.createTasks(taskCount));
+        taskList.find(new SearchQuery(BenchmarkData.RARE_WORD));
+        prefixQuery = new SearchQuery(List.of(List.of("dent*", "b*")), 10);
+    }
+
+    /**
+     * Searches for a word found in one task in ten.
+     *
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public List<Task> findCommonWord() {
+        return FindCommand.filterTasksByKeyword(taskList, BenchmarkData.COMMON_WORD);
+    }
+
+    /**
+     * Searches for a word found in one task in a thousand.
+     *
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public List<Task> findRareWord() {
+        return FindCommand.filterTasksByKeyword(taskList, BenchmarkData.RARE_WORD);
+    }
+
+    /**
+     * Searches for two prefixes that must both match, keeping the first ten results.
+     *
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public List<Task> findPrefixes() {
+        return taskList.find(prefixQuery);
+    }
+}
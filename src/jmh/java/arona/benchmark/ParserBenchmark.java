@@ -0,0 +1,71 @@
+package arona.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arona.commands.Command;
+import arona.commands.CommandContext;
+import arona.commands.CommandRegistry;
+import arona.commands.UndoLog;
+import arona.parser.CommandLine;
+import arona.storage.Storage;
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Measures turning a line of user input into a command, without executing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParserBenchmark {
+    @Param({
+        "todo buy groceries for the week",
+        "deadline submit report /by 2023-12-31",
+        "event team meeting /from 2023-10-15 /to 2023-10-16",
+        "mark 42",
+        "del 42",
+        "list",
+        "find meet* OR budget /limit 10"
+    })
+    private String input;
+
+    private CommandRegistry registry;
+    private CommandContext context;
+
+    /**
+     * Creates an empty task list and a storage file that the parsed commands would act on.
+     *
+     * @throws Exception If the storage file cannot be created.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        Storage storage = new Storage(BenchmarkData.writeTemporaryDataFile(0).toString());
+        registry = CommandRegistry.createDefault();
+        context = new CommandContext(new TaskList(), new Ui(), storage, new UndoLog(UndoLog.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Reads the input and parses it into a command.
+     *
+     * @return The parsed command.
+     */
+    @Benchmark
+    public Command parseCommand() {
+        return registry.parse(new CommandLine(input), context);
+    }
+}
@@ -0,0 +1,84 @@
+package arona.benchmark;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arona.storage.Storage;
+import arona.task.Task;
+
+/**
+ * Measures loading the storage file and deleting a task from it, for files of 1k, 100k and 1M tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Path dataFile;
+    private Storage storage;
+    private ArrayList<Task> tasks;
+
+    /**
+     * Writes the data file and loads it once, so that the storage has indexed every record.
+     *
+     * @throws Exception If the data file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataFile = BenchmarkData.writeTemporaryDataFile(taskCount);
+        storage = new Storage(dataFile.toString());
+        tasks = new ArrayList<>();
+        storage.loadTasks(tasks);
+    }
+
+    /**
+     * Closes the storage file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        storage.close();
+    }
+
+    /**
+     * Loads every task in the data file.
+     *
+     * @return The loaded tasks.
+     */
+    @Benchmark
+    public ArrayList<Task> loadTasks() {
+        ArrayList<Task> loaded = new ArrayList<>(taskCount);
+        storage.loadTasks(loaded);
+        return loaded;
+    }
+
+    /**
+     * Deletes the task in the middle of the file and puts it back, as `delete` followed by `undo` would.
+     * Putting the task back leaves the file as it was across invocations.
+     */
+    @Benchmark
+    public void deleteAndRestoreTask() {
+        Task task = tasks.get(taskCount / 2);
+        storage.deleteTask(task.getId());
+        storage.restoreTask(task);
+    }
+}
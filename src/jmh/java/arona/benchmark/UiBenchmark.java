@@ -0,0 +1,65 @@
+package arona.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arona.commands.ListCommand;
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Measures rendering task lists of 1k, 100k and 1M tasks for the `list` command,
+ * both as a whole and one page at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UiBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskList taskList;
+
+    /**
+     * Creates the task list.
+     */
+    @Setup
+    public void setUp() {
+        taskList = new TaskList(BenchmarkData.createTasks(taskCount));
+    }
+
+    /**
+     * Renders the whole task list.
+     *
+     * @return The rendered list.
+     */
+    @Benchmark
+    public String showTaskList() {
+        return Ui.showTaskList(taskList, 1, taskCount);
+    }
+
+    /**
+     * Renders a page of the default size from the middle of the task list.
+     *
+     * @return The rendered page.
+     */
+    @Benchmark
+    public String showTaskPage() {
+        int middlePage = (taskCount / ListCommand.DEFAULT_PAGE_SIZE + 1) / 2;
+        return Ui.showTaskList(taskList, middlePage, ListCommand.DEFAULT_PAGE_SIZE);
+    }
+}
@@ -1,47 +1,210 @@
 package arona;
 
-import java.util.Stack;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
 
-import arona.commands.Command;
-import arona.parser.Parser;
+import arona.commands.CommandContext;
+import arona.commands.CommandRegistry;
+import arona.commands.UndoLog;
+import arona.storage.HistoryLog;
 import arona.storage.Storage;
+import arona.storage.SyncPolicy;
+import arona.task.ConcurrentTaskList;
 import arona.task.TaskList;
 import arona.ui.Ui;
 
 /**
  * Arona is a simple command-line task management application that allows users to manage their tasks.
  * Users can add tasks, mark tasks as done, delete tasks, and list all tasks.
+ * Arona runs in the GUI through {@link Launcher}, or without it through {@link #main}, which reads
+ * commands from standard input or a script file.
+ * The task list is shared, so other front-ends can open their own {@link Session} on the same tasks.
+ * How the tasks are stored is chosen with the system properties {@value #STORAGE_PROPERTY}, which is
+ * {@code file} to update the storage file in place or {@code journal} to append changes to a journal beside it,
+ * and {@value #SYNC_PROPERTY}, which names a {@link SyncPolicy} such as {@code every-command}.
+ * By default changes are updated in place and forced to disk every {@value #DEFAULT_SYNC_INTERVAL_MILLIS} ms,
+ * so no command waits for the disk.
  */
 
 public class Arona {
+    /** The system property choosing how the tasks are stored. */
+    public static final String STORAGE_PROPERTY = "arona.storage";
+    /** The system property choosing how eagerly changes are forced to disk. */
+    public static final String SYNC_PROPERTY = "arona.sync";
+    /** How often changes are forced to disk under {@link SyncPolicy#INTERVAL}. */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 200;
+
     private Storage storage;
     private TaskList tasks;
     private Ui ui;
-    private Stack<Command> commandHistory = new Stack<>();
+    private UndoLog undoLog;
+    private CommandRegistry commands = CommandRegistry.createDefault();
+    private Session session;
 
     /**
-     * Initializes a new instance of the Arona application.
+     * Initializes a new instance of the Arona application, keeping its tasks in the data folder.
      */
     public Arona() {
+        this("./data/arona.txt");
+    }
+
+    /**
+     * Initializes a new instance of the Arona application, keeping its tasks in the given file
+     * as chosen by the system properties.
+     *
+     * @param resourcePath The path to the storage file.
+     */
+    public Arona(String resourcePath) {
+        this(resourcePath, isJournalChosen(), getChosenSyncPolicy());
+    }
+
+    /**
+     * Initializes a new instance of the Arona application, keeping its tasks in the given file.
+     *
+     * @param resourcePath The path to the storage file.
+     * @param isJournaled  Whether changes are appended to a journal instead of updating the file in place.
+     * @param syncPolicy   How eagerly changes and undo history are forced to disk.
+     */
+    public Arona(String resourcePath, boolean isJournaled, SyncPolicy syncPolicy) {
         ui = new Ui();
-        String resourcePath = "./data/arona.txt";
-        storage = new Storage(resourcePath);
-        tasks = new TaskList(storage);
+        storage = new Storage(resourcePath, isJournaled);
+        storage.setSyncPolicy(syncPolicy, DEFAULT_SYNC_INTERVAL_MILLIS);
+        tasks = new ConcurrentTaskList(storage);
+        HistoryLog history = new HistoryLog(resourcePath, HistoryLog.DEFAULT_COMPACTION_THRESHOLD);
+        history.setSyncPolicy(syncPolicy, DEFAULT_SYNC_INTERVAL_MILLIS);
+        undoLog = new UndoLog(UndoLog.DEFAULT_CAPACITY, history, tasks);
+        session = new Session(commands, new CommandContext(tasks, ui, storage, undoLog));
+    }
+
+    /**
+     * Reads whether the journal was chosen through {@value #STORAGE_PROPERTY}.
+     * An unknown value is reported and the storage file is updated in place.
+     *
+     * @return {@code true} if changes should be appended to a journal.
+     */
+    private static boolean isJournalChosen() {
+        String mode = System.getProperty(STORAGE_PROPERTY, "file");
+        if (!mode.equals("file") && !mode.equals("journal")) {
+            System.out.println("Unknown " + STORAGE_PROPERTY + " '" + mode + "', using 'file' instead.");
+        }
+        return mode.equals("journal");
+    }
+
+    /**
+     * Reads the sync policy chosen through {@value #SYNC_PROPERTY}, such as {@code every-command}.
+     * An unknown value is reported and {@link SyncPolicy#INTERVAL} is used.
+     *
+     * @return The sync policy.
+     */
+    private static SyncPolicy getChosenSyncPolicy() {
+        String policy = System.getProperty(SYNC_PROPERTY, "interval");
+        try {
+            return SyncPolicy.valueOf(policy.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown " + SYNC_PROPERTY + " '" + policy + "', using 'interval' instead.");
+            return SyncPolicy.INTERVAL;
+        }
+    }
+
+    /**
+     * Runs Arona without the GUI, so that no windowing toolkit is started.
+     * Commands are read one per line from the script file given, or from standard input if there is none.
+     *
+     * @param args An optional path to a script file.
+     */
+    public static void main(String[] args) {
+        Arona arona = new Arona();
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out,
+                Charset.defaultCharset())));
+        try (BufferedReader in = args.length > 0
+                ? Files.newBufferedReader(Paths.get(args[0]), Charset.defaultCharset())
+                : new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()))) {
+            arona.run(in, out);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        } finally {
+            out.flush();
+            arona.close();
+        }
     }
 
     /**
-     * Generates a response to user input.
+     * Runs the commands read from the input until `bye` or the end of the input, writing each reply
+     * as soon as it is ready. Replies are flushed whenever no more input is waiting, so a script runs
+     * without a flush per command while a user typing commands still sees every reply straight away.
+     *
+     * @param in  The input to read commands from, one per line.
+     * @param out The output to write replies to.
+     * @throws IOException If the input cannot be read.
+     */
+    public void run(BufferedReader in, PrintWriter out) throws IOException {
+        out.println(ui.showGreeting());
+        out.flush();
+        String line;
+        while ((line = in.readLine()) != null) {
+            // Commands are read the same way as in the GUI
+            String input = line.trim();
+            if (input.equalsIgnoreCase("bye")) {
+                break;
+            }
+            if (!input.isEmpty()) {
+                out.println(getResponse(input));
+            }
+            if (!in.ready()) {
+                out.flush();
+            }
+        }
+        out.print(ui.showGoodbye());
+        out.flush();
+    }
+
+    /**
+     * Generates a response to user input in Arona's own session, whose undo history is kept on disk.
      *
      * @param input The user's input.
      * @return The response generated by Arona.
      */
     public String getResponse(String input) {
+        return session.getResponse(input);
+    }
+
+    /**
+     * Gets Arona's own session, whose undo history is kept on disk.
+     *
+     * @return The session.
+     */
+    public Session getSession() {
+        return session;
+    }
 
-        String[] inputTokens = Parser.parseUserInput(input);
-        String command = Parser.getCommand(inputTokens);
-        Command cmd = Parser.parseCommand(command, inputTokens, tasks, ui, storage, commandHistory);
-        commandHistory.push(cmd);
-        return cmd.execute();
+    /**
+     * Opens another session on the same tasks, for a front-end running alongside this one.
+     * The new session has its own undo log, which is kept in memory only.
+     *
+     * @return The new session.
+     */
+    public Session openSession() {
+        return new Session(commands, new CommandContext(tasks, ui, storage, new UndoLog(UndoLog.DEFAULT_CAPACITY)));
+    }
+
+    /**
+     * Writes any pending changes and undo history to disk and releases the storage file.
+     * Waits for commands still changing the tasks in other sessions to finish first.
+     */
+    public void close() {
+        tasks.write(() -> {
+            storage.close();
+            undoLog.close();
+            return null;
+        });
     }
 }
 
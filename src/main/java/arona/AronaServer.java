@@ -0,0 +1,217 @@
+package arona;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs a single Arona as a server on this computer, so that many scripts share its loaded tasks
+ * instead of each loading them from disk.
+ * Commands are posted to {@code /command}, one per line, and the replies come back in the same order,
+ * one after another. Requests are handled by a pool of threads, so lists and searches from different
+ * clients run at the same time. Requests name their session with {@code ?session=name} to keep
+ * an undo history of their own; requests without a name share Arona's own session.
+ * The server only listens on the loopback address, so other computers cannot reach it. Requests sent by
+ * web pages, which carry the {@code Origin} of the page, or addressed to a name other than this computer
+ * are refused, so that a page open in a browser cannot run commands either.
+ * At most {@link #MAX_SESSIONS} named sessions are kept; the one used least recently is dropped to make room.
+ */
+public class AronaServer {
+    /** The port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 8765;
+    /** The number of requests handled at the same time. */
+    public static final int DEFAULT_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    /** The most named sessions kept at once. */
+    public static final int MAX_SESSIONS = 100;
+
+    private static final String SESSION_PARAMETER = "session=";
+    private static final List<String> LOOPBACK_NAMES = List.of("localhost", "127.0.0.1", "[::1]");
+
+    private final Arona arona;
+    /** The named sessions, in order of last use. */
+    private final Map<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    };
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+
+    /**
+     * Initializes a new server for the given Arona. The server does not accept requests until it is started.
+     *
+     * @param arona   The Arona whose tasks the server gives access to.
+     * @param port    The port to listen on, or 0 for any free port.
+     * @param threads The number of requests handled at the same time.
+     * @throws IOException If the port cannot be opened.
+     */
+    public AronaServer(Arona arona, int port, int threads) throws IOException {
+        assert threads > 0 : "Server needs at least one thread";
+        this.arona = arona;
+        AtomicInteger threadCount = new AtomicInteger();
+        requestExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "arona-server-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(requestExecutor);
+        server.createContext("/command", this::handleCommand);
+    }
+
+    /**
+     * Runs Arona as a server until the process is stopped, then writes any pending changes to disk.
+     *
+     * @param args An optional port to listen on.
+     */
+    public static void main(String[] args) {
+        Arona arona = new Arona();
+        try {
+            int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+            AronaServer server = new AronaServer(arona, port, DEFAULT_THREADS);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            server.start();
+            System.out.println("Arona is listening on http://localhost:" + server.getPort() + "/command");
+        } catch (IOException | NumberFormatException e) {
+            System.out.println(e.getMessage());
+            arona.close();
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits for the requests being handled to finish and closes Arona.
+     */
+    public void stop() {
+        server.stop(0);
+        requestExecutor.shutdown();
+        try {
+            requestExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        arona.close();
+    }
+
+    /**
+     * Runs the commands posted in a request and sends back their replies.
+     * Commands are read the same way as in the GUI, and reading stops at `bye`.
+     */
+    private void handleCommand(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (!isFromThisComputer(exchange)) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+            Session session = getSession(exchange.getRequestURI());
+            StringBuilder replies = new StringBuilder();
+            BufferedReader in = new BufferedReader(new InputStreamReader(exchange.getRequestBody(),
+                    StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                String input = line.trim();
+                if (input.equalsIgnoreCase("bye")) {
+                    break;
+                }
+                if (!input.isEmpty()) {
+                    replies.append(session.getResponse(input)).append(System.lineSeparator());
+                }
+            }
+
+            byte[] body = replies.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Gets the session named in the query of a request, opening it on first use.
+     *
+     * @param uri The address of the request.
+     * @return The named session, or Arona's own session if the request names none.
+     */
+    private Session getSession(URI uri) {
+        String query = uri.getQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith(SESSION_PARAMETER) && parameter.length() > SESSION_PARAMETER.length()) {
+                    String name = parameter.substring(SESSION_PARAMETER.length());
+                    synchronized (sessions) {
+                        return sessions.computeIfAbsent(name, key -> arona.openSession());
+                    }
+                }
+            }
+        }
+        return arona.getSession();
+    }
+
+    /**
+     * Checks that a request was not sent by a web page and was addressed to this computer by name,
+     * which refuses pages on other sites as well as pages whose site name was pointed at this computer.
+     *
+     * @param exchange The request.
+     * @return {@code true} if the request has no {@code Origin} other than this computer and a loopback {@code Host}.
+     */
+    private static boolean isFromThisComputer(HttpExchange exchange) {
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin != null) {
+            URI originUri;
+            try {
+                originUri = new URI(origin);
+            } catch (URISyntaxException e) {
+                return false;
+            }
+            if (originUri.getHost() == null || !isLoopbackName(originUri.getHost())) {
+                return false;
+            }
+        }
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        return host == null || isLoopbackName(host.replaceFirst(":\\d*$", ""));
+    }
+
+    private static boolean isLoopbackName(String host) {
+        return LOOPBACK_NAMES.contains(host.toLowerCase(Locale.ROOT));
+    }
+}
@@ -34,13 +34,46 @@ public class DialogBox extends HBox {
     }
 
     /**
-     * Sets the message type for the dialog box.
+     * Creates an empty dialog box. The layout is loaded once, and the box can then show
+     * any number of messages in turn through {@link #setMessage}.
+     */
+    public DialogBox() {
+        try {
+            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
+            fxmlLoader.setController(this);
+            fxmlLoader.setRoot(this);
+            fxmlLoader.load();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Shows a message in the dialog box.
+     *
+     * @param text        The text content of the dialog.
+     * @param img         The image to display in the dialog.
+     * @param messageType The message type (USER or ARONA).
+     */
+    public void setMessage(String text, Image img, MessageType messageType) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        setMessageType(messageType);
+    }
+
+    /**
+     * Sets the message type for the dialog box, which decides its style and which side the image is on.
      *
      * @param messageType The message type (USER or ARONA).
      */
     public void setMessageType(MessageType messageType) {
         this.messageType = messageType;
         setDialogStyle();
+        boolean isImageFirst = getChildren().get(0) == displayPicture;
+        if (isImageFirst != (messageType == MessageType.ARONA)) {
+            flip();
+        }
+        setAlignment(messageType == MessageType.ARONA ? Pos.TOP_LEFT : Pos.TOP_RIGHT);
     }
 
     /**
@@ -59,57 +92,11 @@ public class DialogBox extends HBox {
     }
 
     /**
-     * Creates a new dialog box with the specified text and image.
-     *
-     * @param text The text content of the dialog.
-     * @param img  The image to display in the dialog.
-     */
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        dialog.setText(text);
-        displayPicture.setImage(img);
-    }
-
-    /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Flips the dialog box, swapping the sides of the ImageView and the text.
      */
     private void flip() {
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-    }
-
-    /**
-     * Creates and returns a dialog box representing user input.
-     *
-     * @param text The text content of the user's message.
-     * @param img  The image representing the user.
-     * @return A dialog box representing the user's message.
-     */
-    public static DialogBox getUserDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        return db;
-    }
-
-    /**
-     * Creates and returns a dialog box representing Arona's response.
-     *
-     * @param text The text content of Arona's message.
-     * @param img  The image representing Arona.
-     * @return A dialog box representing Arona's message.
-     */
-    public static DialogBox getAronaDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
     }
 }
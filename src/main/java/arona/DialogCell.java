@@ -0,0 +1,53 @@
+package arona;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * A cell of the dialog list that shows a message in a {@link DialogBox}.
+ * The list only creates enough cells to fill the window and moves them between messages as it scrolls,
+ * so each cell loads its dialog box once and fills it in again for every message it shows.
+ */
+public class DialogCell extends ListCell<DialogMessage> {
+    private static final double SCROLL_BAR_WIDTH = 20.0;
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image aronaImage;
+
+    /**
+     * Creates a new cell for the given list.
+     *
+     * @param listView   The list the cell belongs to, whose width the dialog box follows.
+     * @param userImage  The image shown beside the user's messages.
+     * @param aronaImage The image shown beside Arona's messages.
+     */
+    public DialogCell(ListView<DialogMessage> listView, Image userImage, Image aronaImage) {
+        this.userImage = userImage;
+        this.aronaImage = aronaImage;
+        // Keep the dialog box as wide as the list, so long messages wrap instead of scrolling sideways
+        setPrefWidth(0);
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+        dialogBox.maxWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+    }
+
+    /**
+     * Shows the given message in the cell, or clears the cell if it has none.
+     *
+     * @param message The message to show.
+     * @param isEmpty Whether the cell holds no message.
+     */
+    @Override
+    protected void updateItem(DialogMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        Image image = message.getMessageType() == DialogBox.MessageType.USER ? userImage : aronaImage;
+        dialogBox.setMessage(message.getText(), image, message.getMessageType());
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,68 @@
+package arona;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Represents a single message in the dialog shown by the GUI, holding its text and who sent it.
+ * Messages are kept as plain data and only given a {@link DialogBox} when they scroll into view.
+ */
+public class DialogMessage {
+    private final String text;
+    private final DialogBox.MessageType messageType;
+
+    /**
+     * Creates a new message.
+     *
+     * @param text        The text of the message.
+     * @param messageType Who sent the message.
+     */
+    public DialogMessage(String text, DialogBox.MessageType messageType) {
+        this.text = text;
+        this.messageType = messageType;
+    }
+
+    /**
+     * Gets the text of the message.
+     *
+     * @return The text of the message.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets who sent the message.
+     *
+     * @return The message type.
+     */
+    public DialogBox.MessageType getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * Splits a long text into messages of at most the given number of lines,
+     * so that no single message grows into a label taller than the window.
+     *
+     * @param text        The text to split.
+     * @param messageType Who sent the text.
+     * @param maxLines    The most lines in a message.
+     * @return The messages, in order.
+     */
+    public static List<DialogMessage> split(String text, DialogBox.MessageType messageType, int maxLines) {
+        assert maxLines > 0 : "A message must hold at least one line";
+        List<DialogMessage> messages = new ArrayList<>();
+        int start = 0;
+        int lineCount = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n' && ++lineCount == maxLines && i + 1 < text.length()) {
+                messages.add(new DialogMessage(text.substring(start, i), messageType));
+                start = i + 1;
+                lineCount = 0;
+            }
+        }
+        messages.add(new DialogMessage(text.substring(start), messageType));
+        return messages;
+    }
+}
@@ -1,12 +1,29 @@
 package arona;
 
+import java.util.Arrays;
+
 import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues and start the Arona application.
  */
 public class Launcher {
+    /**
+     * Starts the GUI, or runs Arona without it when the first argument is `--cli` or `--server`.
+     * Any further argument is the script file to read commands from, as in {@link Arona#main},
+     * or the port to listen on, as in {@link AronaServer#main}.
+     *
+     * @param args The command-line arguments.
+     */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--cli")) {
+            Arona.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            AronaServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
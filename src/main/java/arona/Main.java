@@ -15,6 +15,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private Arona arona = new Arona();
+    private MainWindow mainWindow;
 
     /**
      * The entry point for the JavaFX application.
@@ -37,10 +38,23 @@ public class Main extends Application {
 
             scene.getStylesheets().add(getClass().getResource("/styles.css").toExternalForm());
 
-            fxmlLoader.<MainWindow>getController().setArona(arona);
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setArona(arona);
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Lets running commands finish and flushes pending changes to disk when the application exits.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.close();
+        } else {
+            arona.close();
+        }
+    }
 }
@@ -1,30 +1,48 @@
 package arona;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
+
 /**
  * Controller for the main application window. This class provides the layout for the user interface controls.
+ * Commands run one at a time on a background thread, in the order they were entered, so that a slow command
+ * never freezes the window. Their replies are handed back to the JavaFX Application Thread to be shown.
  */
 public class MainWindow extends AnchorPane {
+    /** The most lines shown in a single dialog box; longer replies are split over several boxes. */
+    private static final int MAX_LINES_PER_MESSAGE = 40;
+    /** The most messages kept in the dialog; older messages are dropped. */
+    private static final int MAX_MESSAGES = 1000;
+    /** The shortest time before a reply is shown, so that Arona does not seem to answer instantly. */
+    private static final Duration RESPONSE_DELAY = Duration.seconds(0.5);
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<DialogMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Arona arona;
+    private ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "arona-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/user.jpg"));
     private Image aronaImage = new Image(this.getClass().getResourceAsStream("/images/arona_icon.jpg"));
@@ -32,16 +50,14 @@ public class MainWindow extends AnchorPane {
 
     /**
      * Initializes the main window.
-     * Binds the scroll pane's vertical value to the height of the dialog container.
+     * Sets up the dialog list to show messages in reusable dialog boxes.
      * Displays a welcome message from Arona.
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-
-        DialogBox welcomeDialog = DialogBox.getAronaDialog("Hello! I'm Arona, your Virtual Assistant.", aronaImage);
-        welcomeDialog.setMessageType(DialogBox.MessageType.ARONA);
-        dialogContainer.getChildren().add(welcomeDialog);
+        dialogList.setCellFactory(listView -> new DialogCell(listView, userImage, aronaImage));
+        dialogList.setFocusTraversable(false);
+        showMessage("Hello! I'm Arona, your Virtual Assistant.", DialogBox.MessageType.ARONA);
     }
 
     /**
@@ -53,24 +69,36 @@ public class MainWindow extends AnchorPane {
         arona = a;
     }
 
+    /**
+     * Waits for the commands already entered to finish, then closes Arona.
+     */
+    public void close() {
+        commandExecutor.shutdown();
+        try {
+            commandExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        arona.close();
+    }
+
     /**
      * Handles user input.
-     * Creates dialog boxes for user input and Arona's reply and appends them to the dialog container.
-     * Clears the user input after processing.
-     * Exits the application if the user enters "bye" after a 2-second pause.
+     * Adds the user input to the dialog list and runs the command in the background.
+     * Arona's reply is added once the command has finished and the response delay has passed,
+     * whichever is later. Clears the user input straight away, so the next command can be typed.
+     * Exits the application if the user enters "bye" after a 2-second pause, taking no more input meanwhile.
+     * Arona itself is closed by {@link #close()} once the application stops.
      */
     @FXML
     private void handleUserInput() {
-        String input = userInput.getText().toLowerCase().trim();
-        if (input.equals("bye")) {
-            DialogBox userDialog = DialogBox.getUserDialog(input, userImage);
-            userDialog.setMessageType(DialogBox.MessageType.USER);
-
-            DialogBox goodbyeDialog = DialogBox.getAronaDialog("Goodbye. See you soon!", aronaImage);
-            goodbyeDialog.setMessageType(DialogBox.MessageType.ARONA);
-
-            dialogContainer.getChildren().addAll(
-                    userDialog, goodbyeDialog);
+        String input = userInput.getText().trim();
+        if (input.equalsIgnoreCase("bye")) {
+            showMessage(input, DialogBox.MessageType.USER);
+            showMessage("Goodbye. See you soon!", DialogBox.MessageType.ARONA);
+            userInput.clear();
+            userInput.setDisable(true);
+            sendButton.setDisable(true);
 
             PauseTransition delay = new PauseTransition(Duration.seconds(2));
             delay.setOnFinished(event -> Platform.exit());
@@ -78,25 +106,34 @@ public class MainWindow extends AnchorPane {
             return;
         }
 
-        // Add a 0.5-second delay before displaying Arona's response
-        DialogBox userDialog = DialogBox.getUserDialog(input, userImage);
-        userDialog.setMessageType(DialogBox.MessageType.USER);
-
-        dialogContainer.getChildren().addAll(
-                userDialog
-        );
+        showMessage(input, DialogBox.MessageType.USER);
+        CompletableFuture<String> response = CompletableFuture.supplyAsync(() -> arona.getResponse(input),
+                commandExecutor);
 
-        PauseTransition responseDelay = new PauseTransition(Duration.seconds(0.5));
-        responseDelay.setOnFinished(event -> {
-            String response = arona.getResponse(input);
-            DialogBox aronaDialog = DialogBox.getAronaDialog(response, aronaImage);
-
-            aronaDialog.setMessageType(DialogBox.MessageType.ARONA);
-            dialogContainer.getChildren().addAll(
-                    aronaDialog
-            );
-        });
+        // The delay runs alongside the command, so it only holds back replies that are faster than it
+        PauseTransition responseDelay = new PauseTransition(RESPONSE_DELAY);
+        responseDelay.setOnFinished(event -> response.whenComplete((reply, error) -> {
+            String text = error == null ? reply : error.getMessage();
+            Platform.runLater(() -> showMessage(text, DialogBox.MessageType.ARONA));
+        }));
         userInput.clear();
         responseDelay.play();
     }
+
+    /**
+     * Adds a message to the end of the dialog and scrolls to it.
+     * Long messages are split over several dialog boxes, and the oldest messages are dropped
+     * once the dialog holds too many.
+     *
+     * @param text        The text of the message.
+     * @param messageType Who sent the message.
+     */
+    private void showMessage(String text, DialogBox.MessageType messageType) {
+        ObservableList<DialogMessage> messages = dialogList.getItems();
+        messages.addAll(DialogMessage.split(text, messageType, MAX_LINES_PER_MESSAGE));
+        if (messages.size() > MAX_MESSAGES) {
+            messages.remove(0, messages.size() - MAX_MESSAGES);
+        }
+        dialogList.scrollTo(messages.size() - 1);
+    }
 }
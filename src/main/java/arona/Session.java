@@ -0,0 +1,54 @@
+package arona;
+
+import arona.commands.Command;
+import arona.commands.CommandContext;
+import arona.commands.CommandRegistry;
+import arona.commands.TaskChange;
+import arona.parser.CommandLine;
+import arona.task.TaskList;
+
+/**
+ * Represents one front-end talking to Arona, such as the GUI or a connected client.
+ * Sessions share the task list and storage but each has its own undo log, so undo only reverses
+ * the changes made in the same session.
+ * Commands that only read the task list run alongside each other, while a command that changes it runs
+ * on its own, from reading the list to recording the change, so that it takes effect at once for every
+ * session. A session can be used by several threads at once, such as the connections of a server.
+ */
+public class Session {
+    private final CommandRegistry commands;
+    private final CommandContext context;
+
+    /**
+     * Initializes a new session.
+     *
+     * @param commands The commands that can be entered.
+     * @param context  What the commands of this session act on, holding the session's own undo log.
+     */
+    public Session(CommandRegistry commands, CommandContext context) {
+        this.commands = commands;
+        this.context = context;
+    }
+
+    /**
+     * Generates a response to user input.
+     *
+     * @param input The user's input.
+     * @return The response generated by Arona.
+     */
+    public String getResponse(String input) {
+        Command cmd = commands.parse(new CommandLine(input), context);
+        TaskList tasks = context.getTaskList();
+        if (cmd.isReadOnly()) {
+            return tasks.read(cmd::execute);
+        }
+        return tasks.write(() -> {
+            String response = cmd.execute();
+            TaskChange change = cmd.getChange();
+            if (change != null) {
+                context.getUndoLog().record(change);
+            }
+            return response;
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package arona.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import arona.storage.Storage;
+import arona.task.Task;
+import arona.task.TaskList;
+import arona.task.TaskSelector;
+import arona.ui.Ui;
+
+/**
+ * Represents a command to mark, unmark or delete many tasks at once. When executed, this command
+ * selects the tasks in a single pass over the list, applies the change to all of them and saves it
+ * to storage in one batch. The change is undone and redone as a single unit.
+ */
+public class BulkCommand extends Command {
+    private Storage storage;
+    private TaskChange.Kind kind;
+    private TaskSelector selector;
+    private TaskChange change;
+
+    /**
+     * Initializes a new instance of the BulkCommand class with the specified task list,
+     * user interface, storage, kind of change and selection of tasks.
+     *
+     * @param taskList The task list containing the tasks.
+     * @param ui       The user interface for displaying messages.
+     * @param storage  The storage for saving the changes.
+     * @param kind     The kind of change to make, one of mark, unmark or delete.
+     * @param selector The selection of tasks to change.
+     */
+    public BulkCommand(TaskList taskList, Ui ui, Storage storage, TaskChange.Kind kind, TaskSelector selector) {
+        super(taskList, ui);
+        assert kind != TaskChange.Kind.ADD : "Tasks cannot be added by selection";
+        this.storage = storage;
+        this.kind = kind;
+        this.selector = selector;
+    }
+
+    /**
+     * Executes the command by changing every selected task that is not already in the wanted state,
+     * and displaying a confirmation message to the user interface.
+     *
+     * @return A string message indicating the message in the GUI.
+     */
+    @Override
+    public String execute() {
+        List<Task> selected;
+        try {
+            selected = selector.select(taskList);
+        } catch (IndexOutOfBoundsException e) {
+            return ui.showTaskDoesNotExist();
+        }
+
+        List<Task> changed = new ArrayList<>();
+        for (Task task : selected) {
+            boolean isChanged = kind == TaskChange.Kind.DELETE
+                    || task.getIsDone() != (kind == TaskChange.Kind.MARK);
+            if (isChanged) {
+                changed.add(task);
+            }
+        }
+        if (changed.isEmpty()) {
+            return ui.showNoTasksSelected();
+        }
+
+        change = new TaskChange(kind, changed);
+        change.apply(taskList, storage);
+        return RedoCommand.showChangeMade(ui, change, taskList.size());
+    }
+
+    /**
+     * Retrieves the change made to the selected tasks, if any were changed.
+     *
+     * @return The change, or null if no task was changed.
+     */
+    @Override
+    public TaskChange getChange() {
+        return change;
+    }
+}
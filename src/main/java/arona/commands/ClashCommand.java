@@ -0,0 +1,53 @@
+package arona.commands;
+
+import arona.task.EventTask;
+import arona.task.Task;
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Represents a command to list the events whose times overlap those of a given event.
+ */
+public class ClashCommand extends Command {
+    private int taskIndex;
+
+    /**
+     * Initializes a new ClashCommand.
+     *
+     * @param taskList  The task list to search within.
+     * @param ui        The user interface for displaying results.
+     * @param taskIndex The index of the event to check.
+     */
+    public ClashCommand(TaskList taskList, Ui ui, int taskIndex) {
+        super(taskList, ui);
+        this.taskIndex = taskIndex;
+    }
+
+    /**
+     * Executes the ClashCommand to list the events that clash with the specified event.
+     *
+     * @return A string message indicating the message in the GUI.
+     */
+    @Override
+    public String execute() {
+        if (taskIndex < 0 || taskIndex >= taskList.size()) {
+            return ui.showTaskDoesNotExist();
+        }
+        Task task = taskList.get(taskIndex);
+        if (!(task instanceof EventTask) || ((EventTask) task).getStart() == null) {
+            return ui.showEventTimesUnknown();
+        }
+        EventTask event = (EventTask) task;
+        return ui.showClashes(event, taskList.findClashes(event));
+    }
+
+    /**
+     * Looking up clashing events only reads the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -28,4 +28,24 @@ public abstract class Command {
      * @return A string message indicating the message in the GUI.
      */
     public abstract String execute();
+
+    /**
+     * Retrieves the change the command made to a task when executed, so that it can be undone.
+     * Commands that do not change any task, or that failed, made no change.
+     *
+     * @return The change, or null if the command made none.
+     */
+    public TaskChange getChange() {
+        return null;
+    }
+
+    /**
+     * Checks whether the command only reads the task list, so that it can run alongside other commands
+     * that only read it. Commands change the list unless they say otherwise.
+     *
+     * @return {@code true} if executing the command never changes the task list, its tasks or the storage.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
 }
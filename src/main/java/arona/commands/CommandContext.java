@@ -0,0 +1,86 @@
+package arona.commands;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import arona.storage.Storage;
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Holds what commands act on: the task list, the user interface, the storage and the undo log.
+ * Command factories are given a context to build commands for, so the factories themselves hold no state.
+ * A context also keeps the commands that have no state of their own, so that they are built once
+ * and reused every time they are entered. A context can be used by several threads at once.
+ */
+public class CommandContext {
+    private final TaskList taskList;
+    private final Ui ui;
+    private final Storage storage;
+    private final UndoLog undoLog;
+    private final Map<String, Command> reusableCommands = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new context.
+     *
+     * @param taskList The task list commands act on.
+     * @param ui       The user interface for displaying messages.
+     * @param storage  The storage for saving and loading tasks.
+     * @param undoLog  The log of changes to undo and redo.
+     */
+    public CommandContext(TaskList taskList, Ui ui, Storage storage, UndoLog undoLog) {
+        this.taskList = taskList;
+        this.ui = ui;
+        this.storage = storage;
+        this.undoLog = undoLog;
+    }
+
+    /**
+     * Gets the task list commands act on.
+     *
+     * @return The task list.
+     */
+    public TaskList getTaskList() {
+        return taskList;
+    }
+
+    /**
+     * Gets the user interface for displaying messages.
+     *
+     * @return The user interface.
+     */
+    public Ui getUi() {
+        return ui;
+    }
+
+    /**
+     * Gets the storage for saving and loading tasks.
+     *
+     * @return The storage.
+     */
+    public Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Gets the log of changes to undo and redo.
+     *
+     * @return The undo log.
+     */
+    public UndoLog getUndoLog() {
+        return undoLog;
+    }
+
+    /**
+     * Gets the command kept under the given name, building it the first time it is asked for.
+     * Only commands that keep no state between executions should be reused.
+     *
+     * @param name    The name the command is kept under.
+     * @param factory Builds the command for this context.
+     * @return The command.
+     */
+    public Command reuse(String name, Function<CommandContext, Command> factory) {
+        return reusableCommands.computeIfAbsent(name, key -> factory.apply(this));
+    }
+}
@@ -0,0 +1,21 @@
+package arona.commands;
+
+import arona.exception.IllegalArgumentAronaException;
+import arona.parser.CommandLine;
+
+/**
+ * Builds the command for a line of user input. Factories hold no state, so a single factory
+ * serves every context it is registered for.
+ */
+@FunctionalInterface
+public interface CommandFactory {
+    /**
+     * Builds the command for a line of user input.
+     *
+     * @param line    The line of user input, starting with the command keyword.
+     * @param context What the command acts on.
+     * @return The command to be executed.
+     * @throws IllegalArgumentAronaException If the arguments of the command are invalid.
+     */
+    Command create(CommandLine line, CommandContext context) throws IllegalArgumentAronaException;
+}
@@ -0,0 +1,181 @@
+package arona.commands;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import arona.exception.IllegalArgumentAronaException;
+import arona.parser.CommandLine;
+import arona.parser.Parser;
+
+/**
+ * The `CommandRegistry` class maps command keywords to the factories that build their commands.
+ * A command can also be reached through its aliases, or through any prefix of its keyword or aliases
+ * that belongs to no other command, so `del` runs `delete` while `d` is ambiguous.
+ * Words that match no command build an {@link InvalidCommand}.
+ * New commands are added by registering them, without changing the parser.
+ */
+public class CommandRegistry {
+    private static final String INVALID = "";
+
+    /** Maps every keyword and alias to its registration, sorted so that words sharing a prefix are adjacent. */
+    private final TreeMap<String, Registration> registrations = new TreeMap<>();
+
+    /**
+     * Represents a registered command, reached through its keyword and aliases.
+     */
+    private static class Registration {
+        private final String keyword;
+        private final CommandFactory factory;
+
+        private Registration(String keyword, CommandFactory factory) {
+            this.keyword = keyword;
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Creates a registry holding all the commands of the application.
+     *
+     * @return The registry.
+     */
+    public static CommandRegistry createDefault() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register("list", (line, context) -> {
+            if (!line.hasArguments()) {
+                return context.reuse("list", c -> new ListCommand(c.getTaskList(), c.getUi()));
+            }
+            int[] page = Parser.getListPage(line.getTokens());
+            return new ListCommand(context.getTaskList(), context.getUi(), page[0], page[1]);
+        }, "ls");
+        registry.register("unmark", (line, context) -> Parser.isSingleTask(line.getTokens())
+                ? new UnmarkCommand(context.getTaskList(), context.getUi(), context.getStorage(),
+                        Parser.getTaskIndex(line.getTokens()))
+                : createBulkCommand(line, context, TaskChange.Kind.UNMARK));
+        registry.register("mark", (line, context) -> Parser.isSingleTask(line.getTokens())
+                ? new MarkCommand(context.getTaskList(), context.getUi(), context.getStorage(),
+                        Parser.getTaskIndex(line.getTokens()))
+                : createBulkCommand(line, context, TaskChange.Kind.MARK));
+        registry.register("todo", (line, context) -> new ToDoCommand(context.getTaskList(), context.getUi(),
+                context.getStorage(), Parser.getToDoDescription(line)));
+        registry.register("deadline", (line, context) -> new DeadlineCommand(context.getTaskList(), context.getUi(),
+                context.getStorage(), Parser.getDeadlineDescription(line)));
+        registry.register("event", (line, context) -> new EventCommand(context.getTaskList(), context.getUi(),
+                context.getStorage(), Parser.getEventDescription(line)));
+        registry.register("delete", (line, context) -> Parser.isSingleTask(line.getTokens())
+                ? new DeleteCommand(context.getTaskList(), context.getUi(), context.getStorage(),
+                        Parser.getTaskIndex(line.getTokens()))
+                : createBulkCommand(line, context, TaskChange.Kind.DELETE), "rm");
+        registry.register("find", (line, context) -> new FindCommand(context.getTaskList(), context.getUi(),
+                Parser.getSearchQuery(line.getTokens())), "search");
+        registry.register("due", (line, context) -> {
+            LocalDate[] range = Parser.getDueRange(line.getTokens());
+            return new DueCommand(context.getTaskList(), context.getUi(), range[0], range[1]);
+        });
+        registry.register("overdue", (line, context) ->
+                context.reuse("overdue", c -> new OverdueCommand(c.getTaskList(), c.getUi())));
+        registry.register("events", (line, context) -> {
+            LocalDate[] period = Parser.getEventsRange(line.getTokens());
+            return new EventsBetweenCommand(context.getTaskList(), context.getUi(), period[0], period[1]);
+        });
+        registry.register("clash", (line, context) -> new ClashCommand(context.getTaskList(), context.getUi(),
+                Parser.getTaskIndex(line.getTokens())));
+        registry.register("undo", (line, context) -> context.reuse("undo", c ->
+                new UndoCommand(c.getTaskList(), c.getUi(), c.getStorage(), c.getUndoLog())));
+        registry.register("redo", (line, context) -> context.reuse("redo", c ->
+                new RedoCommand(c.getTaskList(), c.getUi(), c.getStorage(), c.getUndoLog())));
+        registry.register("import", (line, context) -> new ImportCommand(context.getTaskList(), context.getUi(),
+                context.getStorage(), Parser.getImportPath(line)));
+        return registry;
+    }
+
+    /**
+     * Registers a command under a keyword and any number of aliases.
+     *
+     * @param keyword The keyword of the command.
+     * @param factory Builds the command for a line of input.
+     * @param aliases Other words that run the command.
+     * @throws IllegalArgumentException If the keyword or an alias is already taken.
+     */
+    public void register(String keyword, CommandFactory factory, String... aliases) {
+        Registration registration = new Registration(keyword, factory);
+        List<String> words = new ArrayList<>(List.of(aliases));
+        words.add(0, keyword);
+        for (String word : words) {
+            assert !word.isEmpty() && word.equals(word.toLowerCase()) : "Keywords must be lowercase words";
+            if (registrations.containsKey(word)) {
+                throw new IllegalArgumentException("Command word is already taken: " + word);
+            }
+        }
+        for (String word : words) {
+            registrations.put(word, registration);
+        }
+    }
+
+    /**
+     * Parses a line of user input into the command to be executed.
+     * Commands that cannot be built, for example because of a missing argument, are replaced by
+     * an {@link ErrorCommand} describing the problem.
+     *
+     * @param line    The line of user input.
+     * @param context What the command acts on.
+     * @return The command to be executed.
+     */
+    public Command parse(CommandLine line, CommandContext context) {
+        try {
+            Registration registration = lookup(line.getCommand());
+            if (registration == null) {
+                return context.reuse(INVALID, c -> new InvalidCommand(c.getTaskList(), c.getUi()));
+            }
+            return registration.factory.create(line, context);
+        } catch (Exception exception) {
+            return new ErrorCommand(context.getTaskList(), context.getUi(), exception);
+        }
+    }
+
+    /**
+     * Finds the command a word refers to: the command it is the keyword or an alias of, or else the only
+     * command that has a keyword or alias starting with it.
+     *
+     * @param word The command word, in lowercase.
+     * @return The registration of the command, or null if no command matches.
+     * @throws IllegalArgumentAronaException If the word is the start of more than one command.
+     */
+    private Registration lookup(String word) throws IllegalArgumentAronaException {
+        if (word.isEmpty()) {
+            return null;
+        }
+        Registration exact = registrations.get(word);
+        if (exact != null) {
+            return exact;
+        }
+
+        Registration match = null;
+        List<String> keywords = new ArrayList<>();
+        for (Map.Entry<String, Registration> entry : registrations.tailMap(word).entrySet()) {
+            if (!entry.getKey().startsWith(word)) {
+                break;
+            }
+            Registration registration = entry.getValue();
+            if (!keywords.contains(registration.keyword)) {
+                keywords.add(registration.keyword);
+                match = registration;
+            }
+        }
+        if (keywords.size() > 1) {
+            throw new IllegalArgumentAronaException("Hmm... Did you mean " + String.join(" or ", keywords) + "?");
+        }
+        return match;
+    }
+
+    /**
+     * Builds a command that changes every task in the selection given on the line.
+     */
+    private static Command createBulkCommand(CommandLine line, CommandContext context, TaskChange.Kind kind)
+            throws IllegalArgumentAronaException {
+        return new BulkCommand(context.getTaskList(), context.getUi(), context.getStorage(), kind,
+                Parser.getTaskSelector(line.getTokens()));
+    }
+}
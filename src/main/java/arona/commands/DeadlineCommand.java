@@ -4,6 +4,7 @@ import arona.exception.IllegalArgumentAronaException;
 import arona.parser.Parser;
 import arona.storage.Storage;
 import arona.task.DeadlineTask;
+import arona.task.Task;
 import arona.task.TaskList;
 import arona.ui.Ui;
 
@@ -12,7 +13,7 @@ import arona.ui.Ui;
  * new deadline task with the specified description and due date, adds it to the task list,
  * saves it to storage, and displays a confirmation message to the user interface.
  */
-public class DeadlineCommand extends Command implements UndoableCommand {
+public class DeadlineCommand extends Command {
     private Storage storage;
     private DeadlineTask deadlineTask;
 
@@ -42,35 +43,18 @@ public class DeadlineCommand extends Command implements UndoableCommand {
      */
     @Override
     public String execute() {
-        taskList.getTasks().add(deadlineTask);
         storage.saveTask(deadlineTask);
-        return ui.showTaskAdded(deadlineTask, taskList.getTasks().size());
+        taskList.add(deadlineTask);
+        return ui.showTaskAdded(deadlineTask, taskList.size());
     }
 
     /**
-     * Reverses the "Deadline" action by removing the last added task from the task list
-     * and storage, and displaying a confirmation message to the user.
+     * Retrieves the addition of the task, once the command has been executed.
      *
-     * @return A string message indicating the result of the undo operation.
+     * @return The change, or null if the command has not been executed.
      */
     @Override
-    public String undo() {
-        int lastIndex = taskList.getTasks().size() - 1;
-        if (lastIndex >= 0) {
-            taskList.getTasks().remove(lastIndex);
-            storage.deleteTask(lastIndex);
-        }
-        return ui.showUndoDeadlineCommand(deadlineTask);
-    }
-
-    /**
-     * Retrieves the task index associated with this "Deadline" command.
-     * As "Deadline" tasks don't have a specific task index, this method returns -1.
-     *
-     * @return The task index, which is -1 for "Deadline" tasks.
-     */
-    @Override
-    public int getTaskIndex() {
-        return -1;
+    public TaskChange getChange() {
+        return deadlineTask.getId() == Task.NO_ID ? null : new TaskChange(TaskChange.Kind.ADD, deadlineTask);
     }
 }
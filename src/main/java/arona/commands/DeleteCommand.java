@@ -10,7 +10,7 @@ import arona.ui.Ui;
  * specified task from the task list, deletes it from storage, and displays a
  * confirmation message to the user interface.
  */
-public class DeleteCommand extends Command implements UndoableCommand {
+public class DeleteCommand extends Command {
     private Storage storage;
     private int taskIndex;
     private Task deletedTask;
@@ -38,37 +38,24 @@ public class DeleteCommand extends Command implements UndoableCommand {
      */
     @Override
     public String execute() {
-        if (taskIndex < 0 || taskIndex >= taskList.getTasks().size()) {
+        if (taskIndex < 0 || taskIndex >= taskList.size()) {
             return ui.showTaskDoesNotExist();
         }
 
-        Task task = taskList.getTasks().get(taskIndex);
+        Task task = taskList.remove(taskIndex);
         deletedTask = task; // Store the deleted task for potential undo
-        taskList.getTasks().remove(taskIndex);
-        storage.deleteTask(taskIndex);
-        return ui.showTaskRemoved(task, taskList.getTasks().size());
+        storage.deleteTask(task.getId());
+        return ui.showTaskRemoved(task, taskList.size());
     }
 
 
     /**
-     * Reverses the "Delete" action by restoring the previously deleted task to the task list,
-     * updating the task list and storage, and displaying a confirmation message.
+     * Retrieves the deletion of the task, if one was deleted.
      *
-     * @return A string message indicating the result of the undo operation.
+     * @return The change, or null if no task was deleted.
      */
     @Override
-    public String undo() {
-        taskList.getTasks().add(taskIndex, deletedTask);
-        storage.saveTaskWithIndex(deletedTask, taskIndex);
-        return ui.showUndoDeleteCommand(deletedTask.toString());
-    }
-
-    /**
-     * Retrieves the task index associated with this DeleteCommand.
-     *
-     * @return The task index.
-     */
-    public int getTaskIndex() {
-        return taskIndex;
+    public TaskChange getChange() {
+        return deletedTask == null ? null : new TaskChange(TaskChange.Kind.DELETE, deletedTask);
     }
 }
@@ -0,0 +1,48 @@
+package arona.commands;
+
+import java.time.LocalDate;
+
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Represents a command to list the deadlines due within a range of dates.
+ */
+public class DueCommand extends Command {
+    private LocalDate from;
+    private LocalDate to;
+
+    /**
+     * Initializes a new DueCommand.
+     *
+     * @param taskList The task list to search within.
+     * @param ui       The user interface for displaying results.
+     * @param from     The first date of the range.
+     * @param to       The last date of the range.
+     */
+    public DueCommand(TaskList taskList, Ui ui, LocalDate from, LocalDate to) {
+        super(taskList, ui);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the DueCommand to list the deadlines due between the two dates, sorted by date.
+     *
+     * @return A string message indicating the message in the GUI.
+     */
+    @Override
+    public String execute() {
+        return ui.showDueTasks(taskList.findDueBetween(from, to));
+    }
+
+    /**
+     * Looking up deadlines only reads the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
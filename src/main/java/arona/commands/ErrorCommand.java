@@ -30,4 +30,14 @@ public class ErrorCommand extends Command {
     public String execute() {
         return ui.showErrorMessage(exception);
     }
+
+    /**
+     * A command that could not be built does not touch the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
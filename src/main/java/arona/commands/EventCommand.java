@@ -2,6 +2,7 @@ package arona.commands;
 
 import arona.storage.Storage;
 import arona.task.EventTask;
+import arona.task.Task;
 import arona.task.TaskList;
 import arona.ui.Ui;
 
@@ -10,7 +11,7 @@ import arona.ui.Ui;
  * a new event task and adds it to the task list. It also saves the task to storage
  * and displays a confirmation message to the user interface.
  */
-public class EventCommand extends Command implements UndoableCommand {
+public class EventCommand extends Command {
     private Storage storage;
     private EventTask eventTask;
 
@@ -39,35 +40,18 @@ public class EventCommand extends Command implements UndoableCommand {
      */
     @Override
     public String execute() {
-        taskList.getTasks().add(eventTask);
         storage.saveTask(eventTask);
-        return ui.showTaskAdded(eventTask, taskList.getTasks().size());
+        taskList.add(eventTask);
+        return ui.showTaskAdded(eventTask, taskList.size());
     }
 
     /**
-     * Reverses the "Event" action by removing the last added task from the task list
-     * and storage, and displaying a confirmation message to the user.
+     * Retrieves the addition of the task, once the command has been executed.
      *
-     * @return A string message indicating the result of the undo operation.
+     * @return The change, or null if the command has not been executed.
      */
     @Override
-    public String undo() {
-        int lastIndex = taskList.getTasks().size() - 1;
-        if (lastIndex >= 0) {
-            taskList.getTasks().remove(lastIndex);
-            storage.deleteTask(lastIndex);
-        }
-        return ui.showUndoEventCommand(eventTask);
-    }
-
-    /**
-     * Retrieves the task index associated with this "Event" command.
-     * As "Event" tasks don't have a specific task index, this method returns -1.
-     *
-     * @return The task index, which is -1 for "Event" tasks.
-     */
-    @Override
-    public int getTaskIndex() {
-        return -1;
+    public TaskChange getChange() {
+        return eventTask.getId() == Task.NO_ID ? null : new TaskChange(TaskChange.Kind.ADD, eventTask);
     }
 }
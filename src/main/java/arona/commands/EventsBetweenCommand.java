@@ -0,0 +1,48 @@
+package arona.commands;
+
+import java.time.LocalDate;
+
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Represents a command to list the events taking place within a range of dates.
+ */
+public class EventsBetweenCommand extends Command {
+    private LocalDate from;
+    private LocalDate to;
+
+    /**
+     * Initializes a new EventsBetweenCommand.
+     *
+     * @param taskList The task list to search within.
+     * @param ui       The user interface for displaying results.
+     * @param from     The first date of the range.
+     * @param to       The last date of the range.
+     */
+    public EventsBetweenCommand(TaskList taskList, Ui ui, LocalDate from, LocalDate to) {
+        super(taskList, ui);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the EventsBetweenCommand to list the events overlapping the two dates, sorted by start.
+     *
+     * @return A string message indicating the message in the GUI.
+     */
+    @Override
+    public String execute() {
+        return ui.showEventsBetween(taskList.findEventsBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Looking up events only reads the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
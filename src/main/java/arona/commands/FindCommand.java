@@ -1,62 +1,59 @@
 package arona.commands;
 
-import java.util.ArrayList;
+import java.util.List;
 
+import arona.task.SearchQuery;
 import arona.task.Task;
 import arona.task.TaskList;
 import arona.ui.Ui;
 
 /**
- * Represents a command to search for tasks containing a specific keyword.
+ * Represents a command to search for tasks whose descriptions match a query.
  */
 public class FindCommand extends Command {
-    private String keyWord;
+    private SearchQuery query;
 
     /**
      * Initializes a new FindCommand.
      *
      * @param taskList The task list to search within.
      * @param ui       The user interface for displaying results.
-     * @param keyWord  The keyword to search for in task descriptions.
+     * @param query    The query to match against task descriptions.
      */
-    public FindCommand(TaskList taskList, Ui ui, String keyWord) {
+    public FindCommand(TaskList taskList, Ui ui, SearchQuery query) {
         super(taskList, ui);
-        this.keyWord = keyWord;
+        this.query = query;
     }
 
     /**
-     * Executes the FindCommand to search for tasks containing the specified keyword.
+     * Executes the FindCommand to search for tasks matching the query.
      *
      * @return A string message indicating the message in the GUI.
      */
     @Override
     public String execute() {
-        TaskList matchingTasks = filterTasksByKeyword(taskList, keyWord);
-        return ui.showSearchResult(matchingTasks);
+        return ui.showSearchResult(taskList.find(query));
     }
 
     /**
-     * This method searches through the descriptions of tasks in the provided TaskList
-     * and adds tasks to a new TaskList if their descriptions contain the specified keyword.
+     * This method looks up the tasks in the provided TaskList whose descriptions
+     * contain the specified keyword as a whole word, ignoring case, using the task list's word index.
      *
      * @param taskList The TaskList to search for matching tasks.
      * @param keyWord  The keyword to search for in task descriptions.
-     * @return A TaskList containing the matching tasks.
+     * @return The matching tasks, in list order.
      */
-    public static TaskList filterTasksByKeyword(TaskList taskList, String keyWord) {
-        ArrayList<Task> tasks = taskList.getTasks();
-        TaskList result = new TaskList();
-
-        for (Task task : tasks) {
-            String[] descriptionTokens = task.getDescription().split("\\s+");
+    public static List<Task> filterTasksByKeyword(TaskList taskList, String keyWord) {
+        return taskList.find(new SearchQuery(keyWord));
+    }
 
-            for (String word : descriptionTokens) {
-                if (word.equals(keyWord)) {
-                    result.getTasks().add(task);
-                    break;
-                }
-            }
-        }
-        return result;
+    /**
+     * Searching only reads the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
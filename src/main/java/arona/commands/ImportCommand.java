@@ -0,0 +1,89 @@
+package arona.commands;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import arona.exception.IllegalArgumentAronaException;
+import arona.parser.Parser;
+import arona.storage.Storage;
+import arona.task.Task;
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Represents a command to import tasks from a file. When executed, this command parses every line
+ * of the file into a task, then saves all of them to storage in one batch and adds them to the task list.
+ * The tasks are imported all together or not at all, and are undone as a single change.
+ */
+public class ImportCommand extends Command {
+    private Storage storage;
+    private String filePath;
+    private List<Task> importedTasks = new ArrayList<>();
+
+    /**
+     * Initializes a new instance of the ImportCommand class with the specified
+     * task list, user interface, storage, and file to import.
+     *
+     * @param taskList The task list to add the imported tasks to.
+     * @param ui       The user interface for displaying messages.
+     * @param storage  The storage for saving the tasks.
+     * @param filePath The path of the file to import.
+     */
+    public ImportCommand(TaskList taskList, Ui ui, Storage storage, String filePath) {
+        super(taskList, ui);
+        this.storage = storage;
+        this.filePath = filePath;
+    }
+
+    /**
+     * Executes the "Import" command by reading the tasks in the file, saving them to storage,
+     * adding them to the task list, and displaying a confirmation message to the user interface.
+     * Blank lines are skipped. If any other line is not a valid task, nothing is imported.
+     *
+     * @return A string message indicating the message in the GUI.
+     */
+    @Override
+    public String execute() {
+        List<Task> tasks = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(filePath), Charset.defaultCharset())) {
+            String line;
+            int lineNumber = 0;
+            while ((line = br.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    tasks.add(Parser.parseTask(line));
+                } catch (IllegalArgumentAronaException e) {
+                    return ui.showImportLineInvalid(lineNumber, e);
+                }
+            }
+        } catch (IOException e) {
+            return ui.showImportFileUnreadable(filePath);
+        }
+
+        if (tasks.isEmpty()) {
+            return ui.showNothingToImport();
+        }
+        storage.saveTasks(tasks);
+        tasks.forEach(taskList::add);
+        importedTasks = tasks;
+        return ui.showTasksImported(tasks.size(), taskList.size());
+    }
+
+    /**
+     * Retrieves the addition of the imported tasks, if any were imported.
+     *
+     * @return The change, or null if no task was imported.
+     */
+    @Override
+    public TaskChange getChange() {
+        return importedTasks.isEmpty() ? null : new TaskChange(TaskChange.Kind.ADD, importedTasks);
+    }
+}
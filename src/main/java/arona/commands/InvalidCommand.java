@@ -27,4 +27,13 @@ public class InvalidCommand extends Command {
         return ui.showInvalidArgumentMessage();
     }
 
+    /**
+     * An invalid command does not touch the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
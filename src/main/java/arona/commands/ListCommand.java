@@ -4,30 +4,58 @@ import arona.task.TaskList;
 import arona.ui.Ui;
 
 /**
- * Represents a command to list all tasks. When executed, this command displays
- * the list of tasks to the user interface.
+ * Represents a command to list the tasks. When executed, this command displays
+ * a page of the list of tasks to the user interface.
  */
 public class ListCommand extends Command {
+    /** The number of tasks on each page when no page size is given. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private int page;
+    private int pageSize;
 
     /**
-     * Initializes a new instance of the ListCommand class with the specified
-     * task list and user interface.
+     * Initializes a new instance of the ListCommand class that lists the first page of tasks.
      *
      * @param taskList   The task list containing the tasks to be listed.
      * @param ui         The user interface to display the list of tasks.
      */
     public ListCommand(TaskList taskList, Ui ui) {
+        this(taskList, ui, 1, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Initializes a new instance of the ListCommand class that lists the given page of tasks.
+     *
+     * @param taskList The task list containing the tasks to be listed.
+     * @param ui       The user interface to display the list of tasks.
+     * @param page     The page to list, starting from 1.
+     * @param pageSize The number of tasks on each page.
+     */
+    public ListCommand(TaskList taskList, Ui ui, int page, int pageSize) {
         super(taskList, ui);
+        this.page = page;
+        this.pageSize = pageSize;
     }
 
     /**
-     * Executes the "List" command by displaying the list of tasks to the user
+     * Executes the "List" command by displaying the page of tasks to the user
      * interface.
      *
      * @return A string message indicating the message in the GUI.
      */
     @Override
     public String execute() {
-        return ui.showTaskList(taskList);
+        return ui.showTaskList(taskList, page, pageSize);
+    }
+
+    /**
+     * Listing tasks only reads the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
@@ -1,6 +1,7 @@
 package arona.commands;
 
 import arona.storage.Storage;
+import arona.task.Task;
 import arona.task.TaskList;
 import arona.ui.Ui;
 
@@ -9,9 +10,10 @@ import arona.ui.Ui;
  * the specified task as done, updates its status in storage, and displays a
  * confirmation message.
  */
-public class MarkCommand extends Command implements UndoableCommand {
+public class MarkCommand extends Command {
     private Storage storage;
     private int taskIndex;
+    private Task markedTask;
 
     /**
      * Initializes a new instance of the MarkCommand class with the specified
@@ -37,33 +39,26 @@ public class MarkCommand extends Command implements UndoableCommand {
      */
     @Override
     public String execute() {
-        if (taskIndex < 0 || taskIndex >= taskList.getTasks().size()) {
+        if (taskIndex < 0 || taskIndex >= taskList.size()) {
             return ui.showTaskDoesNotExist();
         }
-        taskList.getTasks().get(taskIndex).mark();
-        storage.updateTaskStatusAsMarked(taskIndex);
-        return ui.showTaskMarkedAsDone(taskList.getTasks().get(taskIndex));
+        Task task = taskList.get(taskIndex);
+        if (task.getIsDone()) {
+            return ui.showTaskMarkedAsDone(task);
+        }
+        task.mark();
+        storage.updateTaskStatusAsMarked(task.getId());
+        markedTask = task;
+        return ui.showTaskMarkedAsDone(task);
     }
 
     /**
-     * Reverses the mark action by unmarking the specified task in the task list,
-     * updating its status in storage, and displaying the result to the user.
+     * Retrieves the change to the status of the task, if the task was not already marked as done.
      *
-     * @return A string message indicating the result of the undo operation.
+     * @return The change, or null if no task was changed.
      */
     @Override
-    public String undo() {
-        taskList.getTasks().get(taskIndex).unMark();
-        storage.updateTaskStatusAsUnmarked(taskIndex);
-        return ui.showUndoMarkCommand(taskList.getTasks().get(taskIndex));
-    }
-
-    /**
-     * Retrieves the task index associated with this MarkCommand.
-     *
-     * @return The task index.
-     */
-    public int getTaskIndex() {
-        return taskIndex;
+    public TaskChange getChange() {
+        return markedTask == null ? null : new TaskChange(TaskChange.Kind.MARK, markedTask);
     }
 }
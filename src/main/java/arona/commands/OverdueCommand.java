@@ -0,0 +1,56 @@
+package arona.commands;
+
+import java.time.LocalDate;
+
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Represents a command to list the deadlines that have passed without being marked as done.
+ */
+public class OverdueCommand extends Command {
+    private LocalDate today;
+
+    /**
+     * Initializes a new OverdueCommand that finds the deadlines overdue on the day it is executed.
+     *
+     * @param taskList The task list to search within.
+     * @param ui       The user interface for displaying results.
+     */
+    public OverdueCommand(TaskList taskList, Ui ui) {
+        this(taskList, ui, null);
+    }
+
+    /**
+     * Initializes a new OverdueCommand for a fixed date.
+     *
+     * @param taskList The task list to search within.
+     * @param ui       The user interface for displaying results.
+     * @param today    The current date. Deadlines before this date are overdue.
+     *                 If null, the date the command is executed on is used.
+     */
+    public OverdueCommand(TaskList taskList, Ui ui, LocalDate today) {
+        super(taskList, ui);
+        this.today = today;
+    }
+
+    /**
+     * Executes the OverdueCommand to list the overdue deadlines, sorted by date.
+     *
+     * @return A string message indicating the message in the GUI.
+     */
+    @Override
+    public String execute() {
+        return ui.showOverdueTasks(taskList.findOverdue(today == null ? LocalDate.now() : today));
+    }
+
+    /**
+     * Looking up overdue deadlines only reads the task list.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
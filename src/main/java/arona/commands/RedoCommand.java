@@ -0,0 +1,74 @@
+package arona.commands;
+
+import arona.storage.Storage;
+import arona.task.Task;
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Represents a command to redo the most recently undone action in the Arona application.
+ * When executed, this command takes the last undone change from the undo log
+ * and makes it again in both the task list and storage.
+ */
+public class RedoCommand extends Command {
+    private Storage storage;
+    private UndoLog undoLog;
+
+    /**
+     * Initializes a new instance of the RedoCommand class with the specified
+     * task list, user interface, storage, and undo log.
+     *
+     * @param taskList The task list for managing tasks.
+     * @param ui       The user interface for displaying messages.
+     * @param storage  The storage for saving and loading tasks.
+     * @param undoLog  The log of changes made by previous commands.
+     */
+    public RedoCommand(TaskList taskList, Ui ui, Storage storage, UndoLog undoLog) {
+        super(taskList, ui);
+        this.storage = storage;
+        this.undoLog = undoLog;
+    }
+
+    /**
+     * Executes the "Redo" command, which makes the most recently undone change again.
+     * A new change made after an undo means there is nothing left to redo.
+     *
+     * @return A string message indicating the result of the redo operation.
+     */
+    @Override
+    public String execute() {
+        TaskChange change = undoLog.redo();
+        if (change == null) {
+            return ui.showCannotRedo();
+        }
+        change.redo(taskList, storage);
+        return showChangeMade(ui, change, taskList.size());
+    }
+
+    /**
+     * Returns a message confirming that a change was made, naming the task if only one was changed.
+     *
+     * @param ui         The user interface for displaying messages.
+     * @param change     The change that was made.
+     * @param totalTasks The total number of tasks after the change.
+     * @return A string message confirming the change.
+     */
+    static String showChangeMade(Ui ui, TaskChange change, int totalTasks) {
+        Task task = change.getTask();
+        int changedTasks = change.getTasks().size();
+        switch (change.getKind()) {
+        case ADD:
+            return changedTasks > 1
+                    ? ui.showTasksImported(changedTasks, totalTasks)
+                    : ui.showTaskAdded(task, totalTasks);
+        case DELETE:
+            return changedTasks > 1
+                    ? ui.showTasksRemoved(changedTasks, totalTasks)
+                    : ui.showTaskRemoved(task, totalTasks);
+        case MARK:
+            return changedTasks > 1 ? ui.showTasksMarkedAsDone(changedTasks) : ui.showTaskMarkedAsDone(task);
+        default:
+            return changedTasks > 1 ? ui.showTasksUnmarked(changedTasks) : ui.showTaskUnmarked(task);
+        }
+    }
+}
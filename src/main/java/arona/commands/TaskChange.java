@@ -0,0 +1,171 @@
+package arona.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import arona.storage.Storage;
+import arona.task.Task;
+import arona.task.TaskList;
+
+/**
+ * Represents a single change a command made to one or more tasks, kept so that it can be undone and redone.
+ * Only the kind of change and the tasks are kept: since a task keeps its ID while deleted,
+ * each change is reversed by a single operation on each ID. A change to many tasks, such as an import,
+ * is undone and redone as one unit.
+ */
+public class TaskChange {
+    /**
+     * The kinds of change a command can make to a task.
+     */
+    public enum Kind {
+        ADD, DELETE, MARK, UNMARK
+    }
+
+    private final Kind kind;
+    private final List<Task> tasks;
+
+    /**
+     * Initializes a new change to a single task.
+     *
+     * @param kind The kind of change.
+     * @param task The task that was changed.
+     */
+    public TaskChange(Kind kind, Task task) {
+        this(kind, List.of(task));
+    }
+
+    /**
+     * Initializes a new change to several tasks at once.
+     *
+     * @param kind  The kind of change.
+     * @param tasks The tasks that were changed, in the order they were changed.
+     */
+    public TaskChange(Kind kind, List<? extends Task> tasks) {
+        assert !tasks.isEmpty() : "A change must concern at least one task";
+        this.kind = kind;
+        this.tasks = List.copyOf(tasks);
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return The kind of change.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the first task that was changed, which is the only one for most commands.
+     *
+     * @return The changed task.
+     */
+    public Task getTask() {
+        return tasks.get(0);
+    }
+
+    /**
+     * Gets all the tasks that were changed.
+     *
+     * @return The changed tasks, in the order they were changed.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Makes the change in the task list and storage, for a command that records the change before making it.
+     * Changes to several tasks are saved to storage in one batch.
+     *
+     * @param taskList The task list to make the change to.
+     * @param storage  The storage to save the change to.
+     */
+    public void apply(TaskList taskList, Storage storage) {
+        apply(taskList, storage, false);
+    }
+
+    /**
+     * Reverses the change in the task list and storage.
+     *
+     * @param taskList The task list the change was made to.
+     * @param storage  The storage the change was saved to.
+     */
+    public void undo(TaskList taskList, Storage storage) {
+        apply(taskList, storage, true);
+    }
+
+    /**
+     * Makes the change again after it was undone.
+     *
+     * @param taskList The task list the change was made to.
+     * @param storage  The storage the change was saved to.
+     */
+    public void redo(TaskList taskList, Storage storage) {
+        apply(taskList, storage, false);
+    }
+
+    private void apply(TaskList taskList, Storage storage, boolean isUndo) {
+        switch (kind) {
+        case ADD:
+            setPresent(taskList, storage, !isUndo);
+            break;
+        case DELETE:
+            setPresent(taskList, storage, isUndo);
+            break;
+        case MARK:
+            setDone(storage, !isUndo);
+            break;
+        case UNMARK:
+            setDone(storage, isUndo);
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Adds or removes the tasks that are not already where the change puts them. Another session
+     * sharing the task list may have deleted or restored some of them since the change was made.
+     */
+    private void setPresent(TaskList taskList, Storage storage, boolean isPresent) {
+        List<Task> changed = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (isPresent && taskList.getById(task.getId()) == null) {
+                taskList.restore(task);
+                changed.add(task);
+            } else if (!isPresent && taskList.delete(task)) {
+                changed.add(task);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (isPresent) {
+            storage.restoreTasks(changed);
+        } else {
+            storage.deleteTasks(changed);
+        }
+    }
+
+    /**
+     * Marks or unmarks the tasks that do not already have the status the change gives them.
+     */
+    private void setDone(Storage storage, boolean isDone) {
+        List<Task> changed = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (task.getIsDone() != isDone) {
+                changed.add(task);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (isDone) {
+            changed.forEach(Task::mark);
+            storage.updateTasksStatusAsMarked(changed);
+        } else {
+            changed.forEach(Task::unMark);
+            storage.updateTasksStatusAsUnmarked(changed);
+        }
+    }
+}
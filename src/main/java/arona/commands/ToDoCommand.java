@@ -1,6 +1,7 @@
 package arona.commands;
 
 import arona.storage.Storage;
+import arona.task.Task;
 import arona.task.TaskList;
 import arona.task.ToDoTask;
 import arona.ui.Ui;
@@ -10,7 +11,7 @@ import arona.ui.Ui;
  * creates a new to-do task with the specified description, adds it to the task
  * list, saves it in storage, and displays a confirmation message.
  */
-public class ToDoCommand extends Command implements UndoableCommand {
+public class ToDoCommand extends Command {
     private Storage storage;
     private ToDoTask todoTask;
 
@@ -38,36 +39,19 @@ public class ToDoCommand extends Command implements UndoableCommand {
      */
     @Override
     public String execute() {
-        taskList.getTasks().add(todoTask);
         storage.saveTask(todoTask);
-        return ui.showTaskAdded(todoTask, taskList.getTasks().size());
+        taskList.add(todoTask);
+        return ui.showTaskAdded(todoTask, taskList.size());
     }
 
 
     /**
-     * Reverses the "To-Do" action by removing the last added task from the task list
-     * and storage, and displaying a confirmation message to the user.
+     * Retrieves the addition of the task, once the command has been executed.
      *
-     * @return A string message indicating the result of the undo operation.
+     * @return The change, or null if the command has not been executed.
      */
     @Override
-    public String undo() {
-        int lastIndex = taskList.getTasks().size() - 1;
-        if (lastIndex >= 0) {
-            taskList.getTasks().remove(lastIndex);
-            storage.deleteTask(lastIndex);
-        }
-        return ui.showUndoToDoCommand(todoTask);
-    }
-
-    /**
-     * Retrieves the task index associated with this "To-Do" command.
-     * As "To-Do" tasks don't have a specific task index, this method returns -1.
-     *
-     * @return The task index, which is -1 for "To-Do" tasks.
-     */
-    @Override
-    public int getTaskIndex() {
-        return -1;
+    public TaskChange getChange() {
+        return todoTask.getId() == Task.NO_ID ? null : new TaskChange(TaskChange.Kind.ADD, todoTask);
     }
 }
@@ -0,0 +1,177 @@
+package arona.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import arona.storage.HistoryLog;
+import arona.task.TaskList;
+
+/**
+ * The `UndoLog` class remembers the most recent changes made by commands, so that they can be undone
+ * and redone. It is a fixed-size ring buffer: once full, recording a change forgets the oldest one,
+ * so memory stays bounded however long a session runs. Changes that were undone stay in the buffer
+ * until they are redone or a new change is recorded.
+ * The log can be backed by a {@link HistoryLog}, so that the changes survive a restart. Every change,
+ * undo and redo is then appended to the history, which is rewritten with just the remembered changes
+ * once it grows too long.
+ * The log is not synchronized, and should be used from one thread at a time.
+ */
+public class UndoLog {
+    /** The number of changes kept by the application. */
+    public static final int DEFAULT_CAPACITY = HistoryLog.REMEMBERED_CHANGES;
+
+    private final TaskChange[] changes;
+    private int oldest;
+    private int undoCount;
+    private int redoCount;
+    private HistoryLog history;
+
+    /**
+     * Initializes an empty undo log that is kept only in memory.
+     *
+     * @param capacity The number of changes to remember.
+     */
+    public UndoLog(int capacity) {
+        assert capacity > 0 : "Capacity must be positive";
+        this.changes = new TaskChange[capacity];
+    }
+
+    /**
+     * Initializes an undo log backed by the given history, remembering the changes it holds.
+     *
+     * @param capacity The number of changes to remember, at most {@link HistoryLog#REMEMBERED_CHANGES}.
+     * @param history  The history to read changes from and save them to.
+     * @param taskList The tasks loaded from storage, which the changes refer to.
+     */
+    public UndoLog(int capacity, HistoryLog history, TaskList taskList) {
+        this(capacity);
+        assert capacity <= HistoryLog.REMEMBERED_CHANGES : "Storage only keeps deleted tasks for remembered changes";
+        for (HistoryLog.Record record : history.load(taskList)) {
+            switch (record.getOperation()) {
+            case HistoryLog.CHANGE:
+                try {
+                    push(new TaskChange(TaskChange.Kind.valueOf(record.getKind()), record.getTasks()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Skipping unknown change in history: " + record.getKind());
+                }
+                break;
+            case HistoryLog.UNDO:
+                pop();
+                break;
+            case HistoryLog.REDO:
+                unpop();
+                break;
+            default:
+                break;
+            }
+        }
+        this.history = history;
+    }
+
+    /**
+     * Records a change that was just made, forgetting any changes that could have been redone.
+     *
+     * @param change The change to record.
+     */
+    public void record(TaskChange change) {
+        assert change != null : "Change cannot be null";
+        push(change);
+        save(HistoryLog.CHANGE, change);
+    }
+
+    /**
+     * Takes the most recent change that has not been undone, so that it can be undone.
+     *
+     * @return The change, or null if there is nothing to undo.
+     */
+    public TaskChange undo() {
+        TaskChange change = pop();
+        save(HistoryLog.UNDO, change);
+        return change;
+    }
+
+    /**
+     * Takes the most recently undone change, so that it can be made again.
+     *
+     * @return The change, or null if there is nothing to redo.
+     */
+    public TaskChange redo() {
+        TaskChange change = unpop();
+        save(HistoryLog.REDO, change);
+        return change;
+    }
+
+    /**
+     * Writes any pending history to disk and closes it.
+     */
+    public void close() {
+        if (history != null) {
+            history.close();
+        }
+    }
+
+    private void push(TaskChange change) {
+        for (int i = 0; i < redoCount; i++) {
+            changes[slot(undoCount + i)] = null;
+        }
+        redoCount = 0;
+        if (undoCount == changes.length) {
+            oldest = slot(1);
+            undoCount--;
+        }
+        changes[slot(undoCount)] = change;
+        undoCount++;
+    }
+
+    private TaskChange pop() {
+        if (undoCount == 0) {
+            return null;
+        }
+        undoCount--;
+        redoCount++;
+        return changes[slot(undoCount)];
+    }
+
+    private TaskChange unpop() {
+        if (redoCount == 0) {
+            return null;
+        }
+        TaskChange change = changes[slot(undoCount)];
+        undoCount++;
+        redoCount--;
+        return change;
+    }
+
+    /**
+     * Appends an operation to the history, if there is one, and compacts the history once it grows too long.
+     * The task is saved as it is before the operation is applied, which is also how it is left by undoing
+     * or redoing the addition or deletion of a task.
+     *
+     * @param operation The operation.
+     * @param change    The change the operation concerns, or null if there was nothing to do.
+     */
+    private void save(String operation, TaskChange change) {
+        if (history == null || change == null) {
+            return;
+        }
+        history.append(operation, change.getKind().name(), change.getTasks());
+        if (!history.isFull()) {
+            return;
+        }
+        List<HistoryLog.Record> records = new ArrayList<>();
+        for (int i = 0; i < undoCount + redoCount; i++) {
+            TaskChange remembered = changes[slot(i)];
+            records.add(new HistoryLog.Record(HistoryLog.CHANGE, remembered.getKind().name(),
+                    remembered.getTasks()));
+        }
+        for (int i = undoCount + redoCount - 1; i >= undoCount; i--) {
+            TaskChange undone = changes[slot(i)];
+            records.add(new HistoryLog.Record(HistoryLog.UNDO, undone.getKind().name(), undone.getTasks()));
+        }
+        history.rewrite(records);
+    }
+
+    private int slot(int offset) {
+        return (oldest + offset) % changes.length;
+    }
+}
@@ -1,6 +1,7 @@
 package arona.commands;
 
 import arona.storage.Storage;
+import arona.task.Task;
 import arona.task.TaskList;
 import arona.ui.Ui;
 
@@ -8,9 +9,10 @@ import arona.ui.Ui;
  * Represents a command to unmark a task as done. When executed, this command
  * unmarks a specified task in the task list and updates its status in storage.
  */
-public class UnmarkCommand extends Command implements UndoableCommand {
+public class UnmarkCommand extends Command {
     private Storage storage;
     private int taskIndex;
+    private Task unmarkedTask;
 
     /**
      * Initializes a new instance of the UnMarkCommand class with the specified
@@ -35,33 +37,26 @@ public class UnmarkCommand extends Command implements UndoableCommand {
      */
     @Override
     public String execute() {
-        if (taskIndex < 0 || taskIndex >= taskList.getTasks().size()) {
+        if (taskIndex < 0 || taskIndex >= taskList.size()) {
             return ui.showTaskDoesNotExist();
         }
-        taskList.getTasks().get(taskIndex).unMark();
-        storage.updateTaskStatusAsUnmarked(taskIndex);
-        return ui.showTaskUnmarked(taskList.getTasks().get(taskIndex));
+        Task task = taskList.get(taskIndex);
+        if (!task.getIsDone()) {
+            return ui.showTaskUnmarked(task);
+        }
+        task.unMark();
+        storage.updateTaskStatusAsUnmarked(task.getId());
+        unmarkedTask = task;
+        return ui.showTaskUnmarked(task);
     }
 
     /**
-     * Reverses the unmark action by marking the specified task as done in the task
-     * list, updating its status in storage, and displaying the result to the user.
+     * Retrieves the change to the status of the task, if the task was not already unmarked.
      *
-     * @return A string message indicating the result of the undo operation.
+     * @return The change, or null if no task was changed.
      */
     @Override
-    public String undo() {
-        taskList.getTasks().get(taskIndex).mark();
-        storage.updateTaskStatusAsMarked(taskIndex);
-        return ui.showUndoUnmarkCommand(taskList.getTasks().get(taskIndex));
-    }
-
-    /**
-     * Retrieves the task index associated with this UnmarkCommand.
-     *
-     * @return The task index.
-     */
-    public int getTaskIndex() {
-        return taskIndex;
+    public TaskChange getChange() {
+        return unmarkedTask == null ? null : new TaskChange(TaskChange.Kind.UNMARK, unmarkedTask);
     }
 }
@@ -0,0 +1,173 @@
+package arona.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import arona.task.SearchQuery;
+
+/**
+ * Represents a line of user input, read in place without splitting it into tokens first.
+ * The command word is found when the line is created, and markers such as `/by` are found by walking
+ * the words of the line by index. Parts of the line are sliced out directly, with runs of whitespace
+ * between words collapsed to a single space, so reading a line costs time linear in its length
+ * and only allocates the strings that are returned.
+ * Commands whose arguments are read word by word can still get the tokens of the line.
+ */
+public class CommandLine {
+    private final String input;
+    private final int commandStart;
+    private final int commandEnd;
+    private String[] tokens;
+
+    /**
+     * Reads a line of user input.
+     *
+     * @param input The user's input as a single string.
+     */
+    public CommandLine(String input) {
+        this.input = input;
+        this.commandStart = skipSpaces(0);
+        this.commandEnd = skipWord(commandStart);
+    }
+
+    /**
+     * Gets the command keyword, the first word of the line.
+     *
+     * @return The command keyword as a lowercase string, or an empty string if the line is blank.
+     */
+    public String getCommand() {
+        return input.substring(commandStart, commandEnd).toLowerCase();
+    }
+
+    /**
+     * Checks whether anything follows the command keyword.
+     *
+     * @return {@code true} if the line has at least one word after the command.
+     */
+    public boolean hasArguments() {
+        return skipSpaces(commandEnd) < input.length();
+    }
+
+    /**
+     * Gets everything after the command keyword.
+     *
+     * @return The words after the command, separated by single spaces.
+     */
+    public String getArguments() {
+        return slice(commandEnd, input.length());
+    }
+
+    /**
+     * Gets the position right after the command keyword, where its arguments start.
+     *
+     * @return The position in the line.
+     */
+    public int getArgumentsStart() {
+        return commandEnd;
+    }
+
+    /**
+     * Gets the length of the line.
+     *
+     * @return The number of characters in the line.
+     */
+    public int length() {
+        return input.length();
+    }
+
+    /**
+     * Finds the first word that is the given marker, such as `/by`, in any case, starting from a position.
+     *
+     * @param marker The marker to find.
+     * @param from   The position to start looking from, which should not be in the middle of a word.
+     * @return The position of the marker, or -1 if no word after that position is the marker.
+     */
+    public int findMarker(String marker, int from) {
+        int wordStart = skipSpaces(from);
+        while (wordStart < input.length()) {
+            int wordEnd = skipWord(wordStart);
+            if (wordEnd - wordStart == marker.length()
+                    && input.regionMatches(true, wordStart, marker, 0, marker.length())) {
+                return wordStart;
+            }
+            wordStart = skipSpaces(wordEnd);
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the words between two positions of the line.
+     *
+     * @param from The position to start from.
+     * @param to   The position to end before.
+     * @return The words, separated by single spaces, or an empty string if there are none.
+     */
+    public String slice(int from, int to) {
+        int start = skipSpaces(from);
+        int end = to;
+        while (end > start && SearchQuery.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        if (!hasExtraSpaces(start, end)) {
+            return input.substring(start, end);
+        }
+
+        StringBuilder words = new StringBuilder(end - start);
+        int wordStart = start;
+        while (wordStart < end) {
+            int wordEnd = skipWord(wordStart);
+            if (words.length() > 0) {
+                words.append(' ');
+            }
+            words.append(input, wordStart, wordEnd);
+            wordStart = skipSpaces(wordEnd);
+        }
+        return words.toString();
+    }
+
+    /**
+     * Gets the words of the line, starting with the command keyword, for commands that read
+     * their arguments word by word. The words are split once and kept.
+     *
+     * @return An array of tokens.
+     */
+    public String[] getTokens() {
+        if (tokens == null) {
+            List<String> words = new ArrayList<>();
+            int wordStart = commandStart;
+            while (wordStart < input.length()) {
+                int wordEnd = skipWord(wordStart);
+                words.add(input.substring(wordStart, wordEnd));
+                wordStart = skipSpaces(wordEnd);
+            }
+            tokens = words.toArray(new String[0]);
+        }
+        return tokens;
+    }
+
+    private boolean hasExtraSpaces(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (SearchQuery.isWhitespace(c) && (c != ' ' || SearchQuery.isWhitespace(input.charAt(i + 1)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int skipSpaces(int from) {
+        int i = from;
+        while (i < input.length() && SearchQuery.isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipWord(int from) {
+        int i = from;
+        while (i < input.length() && !SearchQuery.isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -2,25 +2,19 @@ package arona.parser;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Stack;
+import java.util.List;
 
-import arona.commands.Command;
-import arona.commands.DeadlineCommand;
-import arona.commands.DeleteCommand;
-import arona.commands.ErrorCommand;
-import arona.commands.EventCommand;
-import arona.commands.FindCommand;
-import arona.commands.InvalidCommand;
 import arona.commands.ListCommand;
-import arona.commands.MarkCommand;
-import arona.commands.ToDoCommand;
-import arona.commands.UndoCommand;
-import arona.commands.UnmarkCommand;
 import arona.exception.IllegalArgumentAronaException;
 import arona.storage.Storage;
-import arona.task.TaskList;
-import arona.ui.Ui;
+import arona.task.DeadlineTask;
+import arona.task.EventTask;
+import arona.task.SearchQuery;
+import arona.task.Task;
+import arona.task.TaskSelector;
+import arona.task.ToDoTask;
 
 /**
  * The `Parser` class is responsible for parsing user input and extracting relevant information.
@@ -28,146 +22,83 @@ import arona.ui.Ui;
 public class Parser {
 
     /**
-     * Parses the user input into an array of tokens, splitting by spaces.
+     * Gets the description of a to-do task from the command line.
      *
-     * @param userInput The user's input as a single string.
-     * @return An array of tokens.
-     */
-    public static String[] parseUserInput(String userInput) {
-        return userInput.split("\\s+");
-    }
-
-    /**
-     * Extracts the command keyword from the tokens.
-     *
-     * @param tokens The array of tokens.
-     * @return The command keyword as a lowercase string.
-     */
-    public static String getCommand(String[] tokens) {
-        if (tokens.length > 0) {
-            return tokens[0].toLowerCase();
-        }
-        return "";
-    }
-
-    /**
-     * Gets the description of a to-do task from the tokens.
-     *
-     * @param tokens The array of tokens.
+     * @param line The command line.
      * @return The description of the to-do task.
      * @throws IllegalArgumentAronaException If the description is missing.
      */
-    public static String getToDoDescription(String[] tokens) throws IllegalArgumentAronaException {
-        if (tokens.length < 2) {
+    public static String getToDoDescription(CommandLine line) throws IllegalArgumentAronaException {
+        if (!line.hasArguments()) {
             throw new IllegalArgumentAronaException("Oh no! You forgot to specify the task!");
         }
-        return String.join(" ", Arrays.copyOfRange(tokens, 1, tokens.length));
+        return line.getArguments().toLowerCase();
     }
 
     /**
-     * Gets the description and deadline date from the tokens for a deadline task.
+     * Gets the description and deadline date from the command line for a deadline task.
+     * The description is everything before the `/by` marker, and the date everything after it.
      *
-     * @param tokens The array of tokens.
+     * @param line The command line.
      * @return An array containing the description and deadline date.
      * @throws IllegalArgumentAronaException If the description or '/by' is missing.
      */
-    public static String[] getDeadlineDescription(String[] tokens) throws IllegalArgumentAronaException {
-        if (tokens.length < 2) {
+    public static String[] getDeadlineDescription(CommandLine line) throws IllegalArgumentAronaException {
+        if (!line.hasArguments()) {
             throw new IllegalArgumentAronaException("Oh no! You forgot to specify the task!");
         }
 
-        boolean isByFound = false;
-        for (String token : tokens) {
-            if (token.equals("/by")) {
-                isByFound = true;
-                break;
-            }
-        }
-
-        if (!isByFound) {
+        int byIndex = line.findMarker("/by", line.getArgumentsStart());
+        if (byIndex < 0) {
             throw new IllegalArgumentAronaException(
                     "Whoopsie! The deadline seems a bit confused. Please use '/by' to set it.");
         }
 
-        int index = -1;
-        for (int i = 0; i < tokens.length; i++) {
-            if (tokens[i].charAt(0) == '/') {
-                index = i;
-                tokens[i] = tokens[i].substring(1) + ":";
-                break;
-            }
-        }
-        String description = String.join(" ", Arrays.copyOfRange(tokens, 1, index));
-        String by = String.join(" ", Arrays.copyOfRange(tokens, index + 1, tokens.length));
+        String description = line.slice(line.getArgumentsStart(), byIndex);
+        String by = line.slice(byIndex + "/by".length(), line.length());
 
-        if (description.trim().equals("")) {
+        if (description.isEmpty()) {
             throw new IllegalArgumentAronaException("Oh no! You forgot to specify the task!");
         }
 
-        String[] descriptions = {description, by};
+        String[] descriptions = {description.toLowerCase(), by};
         return descriptions;
     }
 
     /**
-     * Gets the description, start date, and end date from the tokens for an event task.
+     * Gets the description, start date, and end date from the command line for an event task.
+     * The description is everything before the `/from` marker, the start everything between it
+     * and the following `/to` marker, and the end everything after that.
      *
-     * @param tokens The array of tokens.
+     * @param line The command line.
      * @return An array containing the description, start date, and end date.
      * @throws IllegalArgumentAronaException If the description, '/from', or '/to' is missing.
      */
-    public static String[] getEventDescription(String[] tokens) throws IllegalArgumentAronaException {
-        if (tokens.length < 2) {
+    public static String[] getEventDescription(CommandLine line) throws IllegalArgumentAronaException {
+        if (!line.hasArguments()) {
             throw new IllegalArgumentAronaException("Oh no! You forgot to specify the event!");
         }
 
-        boolean isFromFound = false;
-        boolean isToFound = false;
-
-        for (String token : tokens) {
-            if (token.equals("/from")) {
-                isFromFound = true;
-            } else if (isFromFound && token.equals("/to")) {
-                isToFound = true;
-                break;
-            }
-        }
-
-        if (!(isFromFound && isToFound)) {
+        int fromIndex = line.findMarker("/from", line.getArgumentsStart());
+        int toIndex = fromIndex < 0 ? -1 : line.findMarker("/to", fromIndex + "/from".length());
+        if (toIndex < 0) {
             throw new IllegalArgumentAronaException(
                     "Whoopsie! The deadline seems a bit confused. Please use '/from' and '/to' to set it.");
         }
 
-        int indexStart = -1;
-        int indexEnd = -1;
-        boolean first = true;
-        for (int i = 0; i < tokens.length; i++) {
-            if (tokens[i].charAt(0) == '/') {
-                if (first) {
+        String description = line.slice(line.getArgumentsStart(), fromIndex);
+        String from = line.slice(fromIndex + "/from".length(), toIndex);
+        String to = line.slice(toIndex + "/to".length(), line.length());
 
-                    indexStart = i;
-                    first = false;
-                    tokens[i] = tokens[i].substring(1) + ":";
-                } else {
-                    indexEnd = i;
-                    tokens[i] = tokens[i].substring(1) + ":";
-                    break;
-                }
-            }
-        }
-
-        String description = String.join(" ", Arrays.copyOfRange(tokens, 1, indexStart));
-        String from = String.join(" ", Arrays.copyOfRange(tokens, indexStart, indexEnd));
-        String to = String.join(" ", Arrays.copyOfRange(tokens, indexEnd, tokens.length));
-
-        if (from.substring(5).trim().isEmpty() || to.substring(3).trim().isEmpty()) {
+        if (from.isEmpty() || to.isEmpty()) {
             throw new IllegalArgumentAronaException("Oh no! The start and/or end time cannot be empty.");
         }
 
-        if (description.trim().equals("")) {
+        if (description.isEmpty()) {
             throw new IllegalArgumentAronaException("Oh no! You forgot to specify the event!");
         }
 
-        String[] descriptions = {description, from, to};
+        String[] descriptions = {description.toLowerCase(), "from: " + from.toLowerCase(), "to: " + to.toLowerCase()};
         return descriptions;
     }
 
@@ -188,6 +119,55 @@ public class Parser {
         }
     }
 
+    /**
+     * Parses a single line of a file to import into a new task. The line is either a `todo`, `deadline`
+     * or `event` command, following the same rules as when it is typed, or a line of the storage file.
+     *
+     * @param line The line to parse.
+     * @return The task described by the line, without an ID.
+     * @throws IllegalArgumentAronaException If the line does not describe a valid task.
+     */
+    public static Task parseTask(String line) throws IllegalArgumentAronaException {
+        CommandLine commandLine = new CommandLine(line);
+        switch (commandLine.getCommand()) {
+        case "todo":
+            return new ToDoTask(getToDoDescription(commandLine));
+        case "deadline":
+            String[] deadline = getDeadlineDescription(commandLine);
+            return new DeadlineTask(deadline[0], parseDate(deadline[1]));
+        case "event":
+            String[] event = getEventDescription(commandLine);
+            return new EventTask(event[0], event[1], event[2]);
+        default:
+            break;
+        }
+
+        Task task;
+        try {
+            task = Storage.dataToTask(line.trim());
+        } catch (RuntimeException e) {
+            task = null;
+        }
+        if (task == null) {
+            throw new IllegalArgumentAronaException("Oops! I'm not quite sure what this task is: " + line.trim());
+        }
+        return task;
+    }
+
+    /**
+     * Gets the path of the file to import from the command line.
+     *
+     * @param line The command line.
+     * @return The path of the file.
+     * @throws IllegalArgumentAronaException If the path is missing.
+     */
+    public static String getImportPath(CommandLine line) throws IllegalArgumentAronaException {
+        if (!line.hasArguments()) {
+            throw new IllegalArgumentAronaException("Oh no! You forgot to specify the file!");
+        }
+        return line.getArguments();
+    }
+
     /**
      * Gets the task index from the tokens, used for marking or deleting tasks.
      *
@@ -206,63 +186,198 @@ public class Parser {
     }
 
     /**
-     * Extracts and returns a keyword from an array of tokens.
+     * Checks whether the tokens of a `mark`, `unmark` or `delete` command name a single task by its index,
+     * rather than a selection of tasks.
+     *
+     * @param tokens The array of tokens.
+     * @return {@code true} if the command has at most one argument, which is a number.
+     */
+    public static boolean isSingleTask(String[] tokens) {
+        return tokens.length < 2 || (tokens.length == 2 && tokens[1].matches("-?\\d+"));
+    }
+
+    /**
+     * Builds a selection of tasks from an array of tokens. A selection is made of any of
+     * a range of indexes `FROM-TO` (or `all`), a status `done` or `undone`,
+     * and a search `find:KEYWORD...` taking the rest of the tokens, as for the `find` command.
+     *
+     * @param tokens An array of tokens containing user input.
+     * @return The selection of tasks.
+     * @throws IllegalArgumentAronaException If a part of the selection is not understood,
+     *                                       or a range is not a pair of positive numbers in order.
+     */
+    public static TaskSelector getTaskSelector(String[] tokens) throws IllegalArgumentAronaException {
+        if (tokens.length < 2) {
+            throw new IllegalArgumentAronaException("Oh no! You forgot to specify the tasks!");
+        }
+        int from = 0;
+        int to = TaskSelector.TO_END;
+        TaskSelector.Status status = TaskSelector.Status.ANY;
+        SearchQuery query = null;
+        for (int i = 1; i < tokens.length && query == null; i++) {
+            String token = tokens[i];
+            if (token.regionMatches(true, 0, "find:", 0, "find:".length())) {
+                List<String> searchTokens = new ArrayList<>(List.of("find"));
+                if (token.length() > "find:".length()) {
+                    searchTokens.add(token.substring("find:".length()));
+                }
+                searchTokens.addAll(Arrays.asList(tokens).subList(i + 1, tokens.length));
+                query = getSearchQuery(searchTokens.toArray(new String[0]));
+            } else if (token.equalsIgnoreCase("done")) {
+                status = TaskSelector.Status.DONE;
+            } else if (token.equalsIgnoreCase("undone")) {
+                status = TaskSelector.Status.NOT_DONE;
+            } else if (token.matches("\\d{1,9}(-\\d{1,9})?")) {
+                String[] bounds = token.split("-");
+                from = Integer.parseInt(bounds[0]) - 1;
+                to = Integer.parseInt(bounds[bounds.length - 1]);
+                if (from < 0 || to <= from) {
+                    throw new IllegalArgumentAronaException(
+                            "Sorry... Please give a range of task numbers from low to high, such as 1-10.");
+                }
+            } else if (!token.equalsIgnoreCase("all")) {
+                throw new IllegalArgumentAronaException("Oops! I'm not quite sure which tasks '" + token + "' are.");
+            }
+        }
+        return new TaskSelector(from, to, status, query);
+    }
+
+    /**
+     * Builds a search query from an array of tokens. Keywords are all required to match unless
+     * separated by `OR`, a keyword ending in `*` matches any word starting with it, and
+     * `/limit N` caps the number of results. `OR` and `/limit` are read in any case, like the command word.
      *
      * @param tokens An array of tokens containing user input.
-     * @return The keyword to be used for searching.
+     * @return The query to be used for searching.
      * @throws IllegalArgumentAronaException If the input format is incorrect:
      *                                      - If no keyword is specified, an exception is thrown.
-     *                                      - If more than one keyword is provided, an exception is thrown.
+     *                                      - If `OR` is not between two keywords, an exception is thrown.
+     *                                      - If the limit is not a positive number, an exception is thrown.
      */
-    public static String getKeyWord(String[] tokens) throws IllegalArgumentAronaException {
-        if (tokens.length < 2) {
-            throw new IllegalArgumentAronaException("Sorry... Please specify a keyword so I can help you.");
-        } else if (tokens.length > 2) {
-            throw new IllegalArgumentAronaException("Sorry... I can only handle one keyword.");
-        } else {
-            return tokens[1];
+    public static SearchQuery getSearchQuery(String[] tokens) throws IllegalArgumentAronaException {
+        List<List<String>> groups = new ArrayList<>();
+        List<String> group = new ArrayList<>();
+        int limit = SearchQuery.NO_LIMIT;
+        for (int i = 1; i < tokens.length; i++) {
+            if (tokens[i].equalsIgnoreCase("/limit")) {
+                limit = getSearchLimit(tokens, ++i);
+            } else if (tokens[i].equalsIgnoreCase("or")) {
+                if (group.isEmpty()) {
+                    throw new IllegalArgumentAronaException("Sorry... Please put a keyword on both sides of OR.");
+                }
+                groups.add(group);
+                group = new ArrayList<>();
+            } else if (tokens[i].equals("*")) {
+                throw new IllegalArgumentAronaException("Sorry... Please put at least one letter before '*'.");
+            } else {
+                group.add(tokens[i]);
+            }
         }
+
+        if (group.isEmpty()) {
+            if (groups.isEmpty()) {
+                throw new IllegalArgumentAronaException("Sorry... Please specify a keyword so I can help you.");
+            }
+            throw new IllegalArgumentAronaException("Sorry... Please put a keyword on both sides of OR.");
+        }
+        groups.add(group);
+        return new SearchQuery(groups, limit);
     }
 
     /**
-     * Parses the user input into the command to be executed.
+     * Gets the result limit that follows `/limit` in the tokens.
      *
-     * @param command       The command in String.
-     * @param inputTokens   The descriptions of the command.
-     * @param tasks         The list of tasks.
-     * @param ui            The user interface for displaying messages.
-     * @param storage       The storage responsible for loading and saving tasks.
-     * @param commandHistory A stack to keep track of command history for undo.
-     * @return The command to be executed.
+     * @param tokens The array of tokens.
+     * @param index  The index of the token holding the limit.
+     * @return The limit.
+     * @throws IllegalArgumentAronaException If the limit is missing or not a positive number.
      */
-    public static Command parseCommand(String command, String[] inputTokens, TaskList tasks,
-                                       Ui ui, Storage storage, Stack<Command> commandHistory) {
-        try {
-            switch (command) {
-            case "list":
-                return new ListCommand(tasks, ui);
-            case "unmark":
-                return new UnmarkCommand(tasks, ui, storage, getTaskIndex(inputTokens));
-            case "mark":
-                return new MarkCommand(tasks, ui, storage, getTaskIndex(inputTokens));
-            case "todo":
-                return new ToDoCommand(tasks, ui, storage, getToDoDescription(inputTokens));
-            case "deadline":
-                return new DeadlineCommand(tasks, ui, storage, getDeadlineDescription(inputTokens));
-            case "event":
-                return new EventCommand(tasks, ui, storage, getEventDescription(inputTokens));
-            case "delete":
-                return new DeleteCommand(tasks, ui, storage, getTaskIndex(inputTokens));
-            case "find":
-                return new FindCommand(tasks, ui, getKeyWord(inputTokens));
-            case "undo":
-                return new UndoCommand(tasks, ui, storage, commandHistory);
-            default:
-                return new InvalidCommand(tasks, ui);
+    private static int getSearchLimit(String[] tokens, int index) throws IllegalArgumentAronaException {
+        int limit = -1;
+        if (index < tokens.length) {
+            try {
+                limit = Integer.parseInt(tokens[index]);
+            } catch (NumberFormatException e) {
+                limit = -1;
             }
-        } catch (Exception exception) {
-            return new ErrorCommand(tasks, ui, exception);
         }
+        if (limit <= 0) {
+            throw new IllegalArgumentAronaException("Sorry... The limit must be a positive number.");
+        }
+        return limit;
     }
-}
 
+    /**
+     * Gets the page of the task list to show from the tokens, as in `list [page] [size]`.
+     * The first page and the default page size are used when they are not given.
+     *
+     * @param tokens The array of tokens.
+     * @return An array containing the page, starting from 1, and the page size.
+     * @throws IllegalArgumentAronaException If the page or page size is not a positive number.
+     */
+    public static int[] getListPage(String[] tokens) throws IllegalArgumentAronaException {
+        if (tokens.length > 3) {
+            throw new IllegalArgumentAronaException("Sorry... Please use 'list [page] [size]'.");
+        }
+        int[] page = {1, ListCommand.DEFAULT_PAGE_SIZE};
+        for (int i = 1; i < tokens.length; i++) {
+            try {
+                page[i - 1] = Integer.parseInt(tokens[i]);
+            } catch (NumberFormatException e) {
+                page[i - 1] = -1;
+            }
+            if (page[i - 1] <= 0) {
+                throw new IllegalArgumentAronaException("Sorry... The page and page size must be positive numbers.");
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Gets the range of dates for listing deadlines from the tokens.
+     * A single date gives a range of just that day.
+     *
+     * @param tokens The array of tokens.
+     * @return An array containing the first and last date of the range.
+     * @throws IllegalArgumentAronaException If the dates are missing, invalid or in the wrong order.
+     */
+    public static LocalDate[] getDueRange(String[] tokens) throws IllegalArgumentAronaException {
+        if (tokens.length < 2 || tokens.length > 3) {
+            throw new IllegalArgumentAronaException(
+                    "Sorry... Please give me a date, or a start and end date, in 'YYYY-MM-DD' format.");
+        }
+        LocalDate from = parseDate(tokens[1]);
+        LocalDate to = tokens.length == 3 ? parseDate(tokens[2]) : from;
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentAronaException("Sorry... The end date cannot be before the start date.");
+        }
+        return new LocalDate[] {from, to};
+    }
+
+    /**
+     * Gets the range of dates for listing events from the tokens, as in `events between FROM and TO`.
+     * The words `between` and `and` are optional.
+     *
+     * @param tokens The array of tokens.
+     * @return An array containing the first and last date of the range.
+     * @throws IllegalArgumentAronaException If the dates are missing, invalid or in the wrong order.
+     */
+    public static LocalDate[] getEventsRange(String[] tokens) throws IllegalArgumentAronaException {
+        List<String> dates = new ArrayList<>();
+        for (int i = 1; i < tokens.length; i++) {
+            if (!tokens[i].equalsIgnoreCase("between") && !tokens[i].equalsIgnoreCase("and")) {
+                dates.add(tokens[i]);
+            }
+        }
+        if (dates.size() != 2) {
+            throw new IllegalArgumentAronaException(
+                    "Sorry... Please give me a start and end date, like 'events between 2023-10-01 and 2023-10-31'.");
+        }
+        LocalDate from = parseDate(dates.get(0));
+        LocalDate to = parseDate(dates.get(1));
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentAronaException("Sorry... The end date cannot be before the start date.");
+        }
+        return new LocalDate[] {from, to};
+    }
+}
@@ -0,0 +1,237 @@
+package arona.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The `BatchedWriter` class appends lines to a file through a single open channel.
+ * Pending lines are coalesced in memory and written out when the batch grows past a size
+ * threshold, when the sync interval elapses, or when the writer is flushed or closed.
+ * Single bytes anywhere in the file can be overwritten in place, including bytes still pending.
+ * Writes made by one command can be grouped into a batch, so that they are forced to disk together.
+ */
+class BatchedWriter {
+    static final int MAX_BATCH_BYTES = 64 * 1024;
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 200;
+
+    private Path file;
+    private FileChannel channel;
+    private long writtenSize;
+    private ByteBuffer pending = ByteBuffer.allocate(MAX_BATCH_BYTES);
+    private boolean isDirty;
+    private SyncPolicy syncPolicy = SyncPolicy.EVERY_COMMAND;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduledSync;
+    private int batchDepth;
+
+    /**
+     * Initializes a new writer that appends to the given file.
+     * The file is only opened once the first line is appended.
+     *
+     * @param file The file to append to.
+     */
+    BatchedWriter(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Sets how eagerly appended lines are forced to disk.
+     *
+     * @param syncPolicy     The sync policy to use.
+     * @param intervalMillis The sync interval in milliseconds, used only by {@link SyncPolicy#INTERVAL}.
+     */
+    synchronized void setSyncPolicy(SyncPolicy syncPolicy, long intervalMillis) {
+        assert syncPolicy != null : "Sync policy cannot be null";
+        this.syncPolicy = syncPolicy;
+        if (scheduledSync != null) {
+            scheduledSync.cancel(false);
+            scheduledSync = null;
+        }
+        if (syncPolicy == SyncPolicy.INTERVAL) {
+            long interval = intervalMillis > 0 ? intervalMillis : DEFAULT_INTERVAL_MILLIS;
+            scheduledSync = getScheduler().scheduleAtFixedRate(this::syncQuietly,
+                    interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Appends a line to the file, followed by a newline.
+     *
+     * @param line The line to append.
+     * @throws IOException If the pending batch cannot be written.
+     */
+    synchronized void append(String line) throws IOException {
+        append((line + "\n").getBytes(Charset.defaultCharset()));
+    }
+
+    /**
+     * Appends raw bytes to the file.
+     *
+     * @param bytes The bytes to append.
+     * @throws IOException If the pending batch cannot be written.
+     */
+    synchronized void append(byte[] bytes) throws IOException {
+        if (bytes.length > pending.remaining()) {
+            writePending();
+        }
+        if (bytes.length > pending.capacity()) {
+            writeFully(ByteBuffer.wrap(bytes));
+        } else {
+            pending.put(bytes);
+        }
+        isDirty = true;
+        if (syncPolicy == SyncPolicy.EVERY_COMMAND && batchDepth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Overwrites a single byte of the file in place.
+     *
+     * @param position The offset of the byte to overwrite.
+     * @param value    The new value of the byte.
+     * @throws IOException If the file cannot be written.
+     */
+    synchronized void write(long position, byte value) throws IOException {
+        assert position >= 0 && position < size() : "Position is outside the file";
+        if (position >= writtenSize) {
+            pending.put((int) (position - writtenSize), value);
+        } else {
+            ByteBuffer buffer = ByteBuffer.wrap(new byte[] {value});
+            while (buffer.hasRemaining()) {
+                getChannel().write(buffer, position);
+            }
+        }
+        isDirty = true;
+        if (syncPolicy == SyncPolicy.EVERY_COMMAND && batchDepth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Starts a batch of writes that belong to a single command. Under {@link SyncPolicy#EVERY_COMMAND},
+     * the writes of a batch are forced to disk once when the batch ends, instead of one at a time.
+     * Batches may be nested, and only the outermost one forces the writes to disk.
+     */
+    synchronized void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of writes started by {@link #beginBatch()}.
+     *
+     * @throws IOException If the pending writes cannot be written.
+     */
+    synchronized void endBatch() throws IOException {
+        assert batchDepth > 0 : "No batch was started";
+        batchDepth--;
+        if (syncPolicy == SyncPolicy.EVERY_COMMAND && batchDepth == 0 && isDirty) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the size of the file including pending bytes, which is the offset of the next append.
+     *
+     * @return The size of the file in bytes.
+     * @throws IOException If the file cannot be opened.
+     */
+    synchronized long size() throws IOException {
+        getChannel();
+        return writtenSize + pending.position();
+    }
+
+    /**
+     * Writes all pending lines to the file and forces them to disk.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    synchronized void flush() throws IOException {
+        writePending();
+        if (isDirty && channel != null) {
+            channel.force(false);
+        }
+        isDirty = false;
+    }
+
+    /**
+     * Flushes pending lines and closes the underlying channel, so that the file can be
+     * read, replaced or moved by someone else. The channel is reopened on the next append.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    synchronized void release() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Flushes pending lines, closes the file and stops the interval sync.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    synchronized void close() throws IOException {
+        release();
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+            scheduledSync = null;
+        }
+    }
+
+    private void writePending() throws IOException {
+        if (pending.position() == 0) {
+            return;
+        }
+        pending.flip();
+        writeFully(pending);
+        pending.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        FileChannel out = getChannel();
+        while (buffer.hasRemaining()) {
+            writtenSize += out.write(buffer, writtenSize);
+        }
+    }
+
+    private FileChannel getChannel() throws IOException {
+        if (channel == null) {
+            // Not opened in append mode, as positional writes to an appending channel are platform-dependent
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            writtenSize = channel.size();
+        }
+        return channel;
+    }
+
+    private synchronized void syncQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "arona-storage-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+}
@@ -0,0 +1,229 @@
+package arona.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import arona.task.DeadlineTask;
+import arona.task.EventTask;
+import arona.task.Task;
+import arona.task.ToDoTask;
+
+/**
+ * The `BinaryTaskCodec` class reads and writes the binary storage format.
+ * A binary file starts with the magic bytes `ARNB` and a version byte, followed by one record per task:
+ * <ul>
+ *     <li>a type tag byte: `T`, `D` or `E`, in lower case once the task is deleted,</li>
+ *     <li>a done flag byte: 0 or 1,</li>
+ *     <li>the description as a varint length followed by UTF-8 bytes,</li>
+ *     <li>for deadlines, the date as a 4-byte big-endian epoch day,</li>
+ *     <li>for events, the start and end as two more varint-length UTF-8 strings.</li>
+ * </ul>
+ * Unlike the text format, descriptions may contain any character, including `|` and newlines.
+ * The tag and the done flag sit at fixed offsets from the start of each record, so both can be flipped in place.
+ * As in the text format, every record takes the next task ID, and the records of deleted tasks are skipped.
+ */
+class BinaryTaskCodec {
+    static final byte[] MAGIC = {'A', 'R', 'N', 'B'};
+    static final byte VERSION = 1;
+    static final int HEADER_LENGTH = MAGIC.length + 1;
+    static final int DONE_FLAG_OFFSET = 1;
+
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Loads all tasks in the given binary file, in file order, skipping deleted tasks.
+     *
+     * @param file  The binary storage file to load.
+     * @param tasks The list to add the loaded tasks to.
+     * @param index The index to record the position of each task in, or null if not needed.
+     * @throws IOException If the file cannot be read or has an unsupported version.
+     */
+    static void load(Path file, List<Task> tasks, RecordIndex index) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = MappedTaskLoader.read(channel);
+            checkHeader(buffer);
+            new BinaryTaskCodec().decode(buffer, HEADER_LENGTH, buffer.limit(), tasks, index);
+        }
+    }
+
+    /**
+     * Returns the header that starts every binary storage file.
+     *
+     * @return The header bytes.
+     */
+    static byte[] header() {
+        byte[] header = Arrays.copyOf(MAGIC, HEADER_LENGTH);
+        header[MAGIC.length] = VERSION;
+        return header;
+    }
+
+    /**
+     * Writes the header followed by one record per task.
+     *
+     * @param tasks The tasks to write.
+     * @param out   The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    static void write(List<Task> tasks, OutputStream out) throws IOException {
+        out.write(header());
+        for (Task task : tasks) {
+            out.write(encode(task));
+        }
+    }
+
+    /**
+     * Encodes a single task as a binary record.
+     *
+     * @param task The task to encode.
+     * @return The record bytes.
+     */
+    static byte[] encode(Task task) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        byte[] from = null;
+        byte[] to = null;
+        byte tag = 'T';
+        int length = 2 + stringLength(description);
+        if (task instanceof DeadlineTask) {
+            tag = 'D';
+            length += Integer.BYTES;
+        } else if (task instanceof EventTask) {
+            tag = 'E';
+            from = ((EventTask) task).getFrom().getBytes(StandardCharsets.UTF_8);
+            to = ((EventTask) task).getTo().getBytes(StandardCharsets.UTF_8);
+            length += stringLength(from) + stringLength(to);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.put(tag);
+        record.put(task.getIsDone() ? (byte) 1 : (byte) 0);
+        putString(record, description);
+        if (tag == 'D') {
+            record.putInt((int) ((DeadlineTask) task).getDate().toEpochDay());
+        } else if (tag == 'E') {
+            putString(record, from);
+            putString(record, to);
+        }
+        return record.array();
+    }
+
+    /**
+     * Decodes the records between the given offsets. A record cut short by the end of the range,
+     * such as one torn by a crash mid-write, ends decoding.
+     *
+     * @param buffer The buffer holding the file contents.
+     * @param start  The offset of the first record.
+     * @param end    The offset just past the last record.
+     * @param tasks  The list to add the decoded tasks to.
+     * @param index  The index to record the position of each task in, or null if not needed.
+     */
+    void decode(ByteBuffer buffer, int start, int end, List<Task> tasks, RecordIndex index) {
+        ByteBuffer records = buffer.duplicate();
+        records.limit(end).position(start);
+        int recordStart = start;
+        int id = 0;
+        try {
+            while (records.hasRemaining()) {
+                recordStart = records.position();
+                byte tag = records.get(recordStart);
+                Task task = decodeRecord(records);
+                if (!Storage.isTombstoneTag(tag)) {
+                    task.setId(id);
+                    tasks.add(task);
+                }
+                if (index != null) {
+                    index.add(recordStart, tag);
+                }
+                id++;
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Error reading from file: record at byte " + recordStart + " is corrupted");
+        }
+    }
+
+    private Task decodeRecord(ByteBuffer records) {
+        byte tag = records.get();
+        int isMarked = records.get();
+        String description = getString(records);
+        switch (Character.toUpperCase(tag)) {
+        case 'T':
+            return new ToDoTask(description, isMarked);
+        case 'D':
+            return new DeadlineTask(description, LocalDate.ofEpochDay(records.getInt()), isMarked);
+        case 'E':
+            String from = getString(records);
+            String to = getString(records);
+            return new EventTask(description, from, to, isMarked);
+        default:
+            throw new IllegalStateException("Unknown record type: " + tag);
+        }
+    }
+
+    private static void checkHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_LENGTH) {
+            throw new IOException("Binary storage file is missing its header");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new IOException("Not a binary storage file");
+            }
+        }
+        if (buffer.get(MAGIC.length) != VERSION) {
+            throw new IOException("Unsupported binary storage version: " + buffer.get(MAGIC.length));
+        }
+    }
+
+    private String getString(ByteBuffer records) {
+        int length = getVarint(records);
+        if (length > records.remaining()) {
+            throw new IllegalStateException("String runs past the end of the file");
+        }
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        records.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer record, byte[] bytes) {
+        int value = bytes.length;
+        while ((value & ~0x7F) != 0) {
+            record.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        record.put((byte) value);
+        record.put(bytes);
+    }
+
+    private static int getVarint(ByteBuffer records) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = records.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed length");
+    }
+
+    private static int stringLength(byte[] bytes) {
+        return varintLength(bytes.length) + bytes.length;
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,368 @@
+package arona.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import arona.exception.IllegalArgumentAronaException;
+import arona.task.Task;
+import arona.task.TaskList;
+
+/**
+ * The `HistoryLog` class keeps the undo history in an append-only file beside the storage file,
+ * so that changes can still be undone and redone after a restart.
+ * Each line records a change, an undo or a redo, together with the data of the task it concerns,
+ * escaped so that any description fits in the line.
+ * An operation on several tasks takes one line per task: the first line holds the operation,
+ * and each following line is marked as a continuation of it.
+ * Since every task is changed through the history, the last line naming a task holds its current data,
+ * so a deleted task can be restored without reading the storage file.
+ * Once the file grows past a threshold, the owner rewrites it with only the changes it still remembers.
+ */
+public class HistoryLog {
+    /** The operation of a line recording a new change. */
+    public static final String CHANGE = "C";
+    /** The operation of a line recording that a change was undone. */
+    public static final String UNDO = "U";
+    /** The operation of a line recording that a change was redone. */
+    public static final String REDO = "R";
+    /** The marker of a line naming a further task of the operation on the line before it. */
+    private static final String CONTINUATION = "+";
+    /** The most changes an undo log backed by a history may remember. */
+    public static final int REMEMBERED_CHANGES = 100;
+    /** The number of lines after which the history should be compacted. */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+    private Path historyPath;
+    private BatchedWriter writer;
+    private int compactionThreshold;
+    private int recordCount;
+    private int keptCount;
+
+    /**
+     * Represents a single operation in the history.
+     */
+    public static class Record {
+        private final String operation;
+        private final String kind;
+        private final List<Task> tasks;
+
+        /**
+         * Initializes a new record.
+         *
+         * @param operation The operation, one of {@link #CHANGE}, {@link #UNDO} or {@link #REDO}.
+         * @param kind      The kind of change the operation concerns.
+         * @param tasks     The tasks that were changed.
+         */
+        public Record(String operation, String kind, List<Task> tasks) {
+            assert !tasks.isEmpty() : "A record must name at least one task";
+            this.operation = operation;
+            this.kind = kind;
+            this.tasks = tasks;
+        }
+
+        /**
+         * Gets the operation.
+         *
+         * @return The operation.
+         */
+        public String getOperation() {
+            return operation;
+        }
+
+        /**
+         * Gets the kind of change.
+         *
+         * @return The kind of change.
+         */
+        public String getKind() {
+            return kind;
+        }
+
+        /**
+         * Gets the tasks that were changed.
+         *
+         * @return The tasks that were changed.
+         */
+        public List<Task> getTasks() {
+            return tasks;
+        }
+    }
+
+    /**
+     * Initializes the history of the given storage file.
+     *
+     * @param filePath            The path to the storage file the history belongs to.
+     * @param compactionThreshold The number of lines after which the history should be compacted.
+     */
+    public HistoryLog(String filePath, int compactionThreshold) {
+        assert compactionThreshold > 0 : "Compaction threshold must be positive";
+        this.historyPath = getPath(Paths.get(filePath));
+        this.writer = new BatchedWriter(historyPath);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Sets how eagerly recorded lines are forced to disk.
+     *
+     * @param syncPolicy     The sync policy to use.
+     * @param intervalMillis The sync interval in milliseconds, used only by {@link SyncPolicy#INTERVAL}.
+     */
+    public void setSyncPolicy(SyncPolicy syncPolicy, long intervalMillis) {
+        writer.setSyncPolicy(syncPolicy, intervalMillis);
+    }
+
+    /**
+     * Gets the path of the history kept beside a storage file.
+     *
+     * @param snapshotPath The path to the storage file.
+     * @return The path to its history.
+     */
+    static Path getPath(Path snapshotPath) {
+        return Paths.get(snapshotPath + ".history");
+    }
+
+    /**
+     * Reads the IDs of the tasks named by the changes of the history of a storage file that can still be
+     * undone or redone. Since the history is read back into an undo log holding at most
+     * {@link #REMEMBERED_CHANGES} changes, only the lines from that many changes before the end can matter.
+     *
+     * @param snapshotPath The path to the storage file.
+     * @return The IDs, which are empty if there is no history.
+     */
+    static Set<Integer> readRememberedTaskIds(Path snapshotPath) {
+        List<String[]> lines = readLines(getPath(snapshotPath));
+        int start = lines.size();
+        int changeCount = 0;
+        while (start > 0 && changeCount < REMEMBERED_CHANGES) {
+            start--;
+            if (lines.get(start)[0].equals(CHANGE)) {
+                changeCount++;
+            }
+        }
+        Set<Integer> taskIds = new HashSet<>();
+        for (String[] parts : lines.subList(start, lines.size())) {
+            taskIds.add(Integer.parseInt(parts[2]));
+        }
+        return taskIds;
+    }
+
+    /**
+     * Gives the tasks named by the history of a storage file new IDs, after the file was rewritten
+     * without some of its records. The history is written beside the old one and moved into place.
+     * An operation naming a task that is no longer in the file is dropped with all of its lines.
+     *
+     * @param snapshotPath The path to the storage file.
+     * @param newIds       The new ID of each old ID, or -1 if the task is no longer in the file.
+     * @throws IOException If the history cannot be written.
+     */
+    static void remapTaskIds(Path snapshotPath, int[] newIds) throws IOException {
+        Path historyPath = getPath(snapshotPath);
+        if (!Files.exists(historyPath)) {
+            return;
+        }
+        Path tempFile = Paths.get(historyPath + ".tmp");
+        try (BufferedWriter bw = Files.newBufferedWriter(tempFile, Charset.defaultCharset())) {
+            boolean isDropped = false;
+            for (String[] parts : readLines(historyPath)) {
+                int oldId = Integer.parseInt(parts[2]);
+                int newId = oldId < newIds.length ? newIds[oldId] : -1;
+                if (!parts[0].equals(CONTINUATION)) {
+                    isDropped = newId < 0;
+                }
+                if (!isDropped && newId >= 0) {
+                    bw.write(parts[0] + "|" + parts[1] + "|" + newId + "|" + parts[3]);
+                    bw.newLine();
+                }
+            }
+        }
+        Files.move(tempFile, historyPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the history. Every task named by the history is resolved to a single task object:
+     * tasks still in the list are taken from it, and deleted tasks are rebuilt from their last line.
+     * Lines that cannot be read, such as a line torn by a crash mid-write, are skipped.
+     * An operation is kept as long as at least one of its tasks can be resolved.
+     *
+     * @param taskList The tasks loaded from the storage file.
+     * @return The records, oldest first.
+     */
+    public List<Record> load(TaskList taskList) {
+        List<String[]> lines = readLines(historyPath);
+        Map<Integer, String> lastData = new HashMap<>();
+        for (String[] parts : lines) {
+            lastData.put(Integer.parseInt(parts[2]), parts[3]);
+        }
+        recordCount = lines.size();
+        keptCount = 0;
+
+        Map<Integer, Task> tasksById = new HashMap<>();
+        List<Record> records = new ArrayList<>();
+        String[] head = null;
+        List<Task> tasks = new ArrayList<>();
+        for (String[] parts : lines) {
+            if (!parts[0].equals(CONTINUATION)) {
+                head = parts;
+                tasks = new ArrayList<>();
+            } else if (head == null) {
+                continue;
+            }
+            int taskId = Integer.parseInt(parts[2]);
+            Task task = tasksById.computeIfAbsent(taskId, id -> resolveTask(taskList, id, lastData.get(id)));
+            if (task != null) {
+                tasks.add(task);
+                if (tasks.size() == 1) {
+                    records.add(new Record(head[0], head[1], tasks));
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Appends an operation to the history, forcing all of its lines to disk together.
+     *
+     * @param operation The operation, one of {@link #CHANGE}, {@link #UNDO} or {@link #REDO}.
+     * @param kind      The kind of change the operation concerns.
+     * @param tasks     The tasks that were changed, in their current state.
+     */
+    public void append(String operation, String kind, List<Task> tasks) {
+        writer.beginBatch();
+        try {
+            for (String line : toLines(new Record(operation, kind, tasks))) {
+                writer.append(line);
+                recordCount++;
+            }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Checks whether the history has grown past its threshold and should be compacted.
+     * Only lines appended since the last compaction count, so that a large operation that is
+     * still remembered does not make every later operation rewrite the history.
+     *
+     * @return {@code true} if the history should be rewritten.
+     */
+    public boolean isFull() {
+        return recordCount - keptCount >= compactionThreshold;
+    }
+
+    /**
+     * Replaces the history with the given records. The new history is written beside the old one
+     * and moved into place, so a crash leaves either the old or the new history intact.
+     *
+     * @param records The records to keep, oldest first.
+     */
+    public void rewrite(List<Record> records) {
+        Path tempFile = Paths.get(historyPath + ".tmp");
+        try {
+            writer.release();
+            try (BufferedWriter bw = Files.newBufferedWriter(tempFile, Charset.defaultCharset())) {
+                for (Record record : records) {
+                    for (String line : toLines(record)) {
+                        bw.write(line);
+                        bw.newLine();
+                    }
+                }
+            }
+            Files.move(tempFile, historyPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordCount = records.stream().mapToInt(record -> record.getTasks().size()).sum();
+            keptCount = recordCount;
+        } catch (IOException e) {
+            System.out.println("Error compacting history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all pending lines to disk and closes the history.
+     */
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private void endBatch() {
+        try {
+            writer.endBatch();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the lines of a history file, split into their operation, kind, task ID and task data.
+     * Lines that cannot be read, such as a line torn by a crash mid-write, are skipped.
+     */
+    private static List<String[]> readLines(Path historyPath) {
+        List<String[]> lines = new ArrayList<>();
+        if (!Files.exists(historyPath)) {
+            return lines;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(historyPath.toFile()))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split("\\|", 4);
+                if (parts.length == 4 && parts[2].matches("\\d{1,9}")) {
+                    lines.add(parts);
+                } else {
+                    System.out.println("Skipping unreadable history record: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading from history: " + e.getMessage());
+        }
+        return lines;
+    }
+
+    private static List<String> toLines(Record record) {
+        List<String> lines = new ArrayList<>();
+        try {
+            for (Task task : record.getTasks()) {
+                String operation = lines.isEmpty() ? record.getOperation() : CONTINUATION;
+                lines.add(operation + "|" + record.getKind() + "|" + task.getId() + "|"
+                        + Storage.taskToData(task));
+            }
+        } catch (IllegalArgumentAronaException e) {
+            throw new RuntimeException(e);
+        }
+        return lines;
+    }
+
+    private static Task resolveTask(TaskList taskList, int taskId, String data) {
+        Task task = taskList.getById(taskId);
+        if (task != null) {
+            return task;
+        }
+        try {
+            task = Storage.dataToTask(data);
+        } catch (RuntimeException e) {
+            task = null;
+        }
+        if (task == null) {
+            System.out.println("Skipping unreadable history record for task " + taskId);
+            return null;
+        }
+        task.setId(taskId);
+        return task;
+    }
+}
@@ -0,0 +1,294 @@
+package arona.storage;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import arona.task.Task;
+
+/**
+ * The `Journal` class is an append-only log of task mutations kept beside a snapshot file.
+ * Each mutation is stored as a single short record naming the ID of the task it changes, so marking
+ * or deleting a task no longer rewrites the whole snapshot. Task data in a record is escaped, so that any
+ * description fits on one line. Once the journal grows past a threshold
+ * it is rotated out and folded back into the snapshot by {@link Storage}.
+ * Replaying a record that has already been applied changes nothing, so a fold interrupted by a crash
+ * can simply be run again.
+ */
+class Journal {
+    static final String ADD = "A";
+    static final String RESTORE = "R";
+    static final String MARK = "M";
+    static final String UNMARK = "U";
+    static final String DELETE = "X";
+
+    private Path journalPath;
+    private Path rotatedPath;
+    private BatchedWriter writer;
+    private int compactionThreshold;
+    private int recordCount;
+
+    /**
+     * Initializes a new journal for the given snapshot file.
+     *
+     * @param snapshotPath        The path to the snapshot file the journal belongs to.
+     * @param compactionThreshold The number of records after which the journal should be compacted.
+     */
+    Journal(Path snapshotPath, int compactionThreshold) {
+        assert compactionThreshold > 0 : "Compaction threshold must be positive";
+        this.journalPath = getPath(snapshotPath);
+        this.rotatedPath = getRotatedPath(snapshotPath);
+        this.writer = new BatchedWriter(journalPath);
+        this.compactionThreshold = compactionThreshold;
+        this.recordCount = countRecords(journalPath);
+    }
+
+    /**
+     * Gets the path of the journal kept beside a snapshot file.
+     *
+     * @param snapshotPath The path to the snapshot file.
+     * @return The path to the journal.
+     */
+    static Path getPath(Path snapshotPath) {
+        return Paths.get(snapshotPath + ".journal");
+    }
+
+    /**
+     * Gets the path a journal is moved to while it is folded into its snapshot file.
+     *
+     * @param snapshotPath The path to the snapshot file.
+     * @return The path to the rotated journal.
+     */
+    static Path getRotatedPath(Path snapshotPath) {
+        return Paths.get(snapshotPath + ".journal.old");
+    }
+
+    /**
+     * Deletes the journal and rotated journal of a snapshot file, once the snapshot has been rewritten
+     * so that their records no longer apply to it.
+     *
+     * @param snapshotPath The path to the snapshot file.
+     * @throws IOException If a journal cannot be deleted.
+     */
+    static void discard(Path snapshotPath) throws IOException {
+        Files.deleteIfExists(getPath(snapshotPath));
+        Files.deleteIfExists(getRotatedPath(snapshotPath));
+    }
+
+    /**
+     * Appends a record to the journal.
+     *
+     * @param record The record to append, without the trailing newline.
+     * @throws IOException If the journal cannot be written.
+     */
+    synchronized void append(String record) throws IOException {
+        writer.append(record);
+        recordCount++;
+    }
+
+    /**
+     * Sets how eagerly journal records are forced to disk.
+     *
+     * @param syncPolicy     The sync policy to use.
+     * @param intervalMillis The sync interval in milliseconds, used only by {@link SyncPolicy#INTERVAL}.
+     */
+    void setSyncPolicy(SyncPolicy syncPolicy, long intervalMillis) {
+        writer.setSyncPolicy(syncPolicy, intervalMillis);
+    }
+
+    /**
+     * Starts a batch of records that belong to a single command, to be forced to disk together.
+     */
+    void beginBatch() {
+        writer.beginBatch();
+    }
+
+    /**
+     * Ends a batch of records started by {@link #beginBatch()}.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    void endBatch() throws IOException {
+        writer.endBatch();
+    }
+
+    /**
+     * Writes all pending records to the journal and forces them to disk.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Flushes pending records and closes the journal.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Moves the current journal aside so it can be compacted while new records go to a fresh journal.
+     * Nothing is rotated if the journal is still below the threshold or a previous rotation
+     * has not been compacted yet.
+     *
+     * @return {@code true} if the journal was rotated and should now be compacted.
+     * @throws IOException If the journal cannot be moved.
+     */
+    synchronized boolean rotateIfFull() throws IOException {
+        if (recordCount < compactionThreshold) {
+            return false;
+        }
+        return rotate();
+    }
+
+    /**
+     * Moves the current journal aside so it can be compacted, however few records it holds.
+     * Nothing is rotated if the journal is empty or a previous rotation has not been compacted yet.
+     *
+     * @return {@code true} if the journal was rotated and should now be compacted.
+     * @throws IOException If the journal cannot be moved.
+     */
+    synchronized boolean rotate() throws IOException {
+        if (recordCount == 0 || Files.exists(rotatedPath)) {
+            return false;
+        }
+        writer.release();
+        Files.move(journalPath, rotatedPath);
+        recordCount = 0;
+        return true;
+    }
+
+    /**
+     * Checks whether a rotated journal is waiting to be compacted.
+     *
+     * @return {@code true} if a rotated journal exists.
+     */
+    boolean hasRotated() {
+        return Files.exists(rotatedPath);
+    }
+
+    /**
+     * Replays the rotated journal followed by the current journal onto the given tasks.
+     *
+     * @param tasksById The tasks loaded from the snapshot, indexed by ID, with null in place of deleted tasks.
+     */
+    synchronized void replay(List<Task> tasksById) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Error writing to journal: " + e.getMessage());
+        }
+        for (String record : readRecords(rotatedPath)) {
+            applyRecord(record, tasksById);
+        }
+        for (String record : readRecords(journalPath)) {
+            applyRecord(record, tasksById);
+        }
+    }
+
+    /**
+     * Reads the records of the rotated journal, so that they can be folded into the snapshot.
+     *
+     * @return The records, oldest first.
+     */
+    List<String> readRotated() {
+        return readRecords(rotatedPath);
+    }
+
+    /**
+     * Deletes the rotated journal once its records have been folded into the snapshot.
+     *
+     * @throws IOException If the rotated journal cannot be deleted.
+     */
+    void discardRotated() throws IOException {
+        Files.deleteIfExists(rotatedPath);
+    }
+
+    private static List<String> readRecords(Path file) {
+        List<String> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                records.add(line);
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading from journal: " + e.getMessage());
+        }
+        return records;
+    }
+
+    /**
+     * Applies a single journal record to the given tasks. Records that cannot be applied,
+     * such as a line torn by a crash mid-write, are skipped.
+     *
+     * @param record    The journal record.
+     * @param tasksById The tasks to apply the record to, indexed by ID.
+     */
+    private static void applyRecord(String record, List<Task> tasksById) {
+        String[] parts = record.split("\\|", 3);
+        try {
+            int taskId = Integer.parseInt(parts[1]);
+            switch (parts[0]) {
+            case ADD:
+                if (taskId >= tasksById.size()) {
+                    put(tasksById, taskId, Storage.dataToTask(parts[2]));
+                }
+                break;
+            case RESTORE:
+                put(tasksById, taskId, Storage.dataToTask(parts[2]));
+                break;
+            case MARK:
+                tasksById.get(taskId).mark();
+                break;
+            case UNMARK:
+                tasksById.get(taskId).unMark();
+                break;
+            case DELETE:
+                tasksById.set(taskId, null);
+                break;
+            default:
+                break;
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Skipping unreadable journal record: " + record);
+        }
+    }
+
+    private static void put(List<Task> tasksById, int taskId, Task task) {
+        if (task == null) {
+            return;
+        }
+        while (tasksById.size() <= taskId) {
+            tasksById.add(null);
+        }
+        task.setId(taskId);
+        tasksById.set(taskId, task);
+    }
+
+    private static int countRecords(Path file) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int count = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile()))) {
+            while (br.readLine() != null) {
+                count++;
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading from journal: " + e.getMessage());
+        }
+        return count;
+    }
+}
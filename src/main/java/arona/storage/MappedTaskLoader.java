@@ -0,0 +1,241 @@
+package arona.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import arona.task.DeadlineTask;
+import arona.task.EventTask;
+import arona.task.Task;
+import arona.task.ToDoTask;
+
+/**
+ * The `MappedTaskLoader` class decodes the pipe-delimited storage file straight from a byte buffer.
+ * Large files are memory-mapped, and each line is scanned once for `|` and line terminators, so
+ * only the fields a task needs are turned into strings. Lines the fast path does not recognise
+ * are handed to {@link Storage#dataToTask(String)}, so the resulting tasks match a line-by-line load.
+ * Every record, including the tombstones of deleted tasks, takes the next task ID, and tombstones are
+ * then skipped. Optionally, the position of every record is recorded in a {@link RecordIndex}.
+ *
+ * <p>A mapped file stays mapped until the buffer is garbage collected, which on Windows prevents
+ * the file from being replaced in the meantime.</p>
+ */
+class MappedTaskLoader {
+    static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+    private static final int MAX_FIELDS = 5;
+
+    private final Charset charset = Charset.defaultCharset();
+    private byte[] line = new byte[256];
+    private final int[] fieldStarts = new int[MAX_FIELDS + 1];
+    private int recordCount;
+
+    /**
+     * Loads all tasks in the given file, in file order, skipping deleted tasks.
+     *
+     * @param file  The storage file to load.
+     * @param tasks The list to add the loaded tasks to.
+     * @param index The index to record the position of each task in, or null if not needed.
+     * @throws IOException If the file cannot be read.
+     */
+    static void load(Path file, List<Task> tasks, RecordIndex index) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = read(channel);
+            new MappedTaskLoader().decode(buffer, 0, buffer.limit(), tasks, index);
+        }
+    }
+
+    /**
+     * Reads the whole channel into a buffer. Files above {@link #MAPPING_THRESHOLD} are memory-mapped
+     * rather than copied onto the heap.
+     *
+     * @param channel The channel to read.
+     * @return A buffer holding the whole file, positioned at its start.
+     * @throws IOException If the file cannot be read or is too large to map.
+     */
+    static ByteBuffer read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("File is too large to load: " + size + " bytes");
+        }
+        if (size >= MAPPING_THRESHOLD) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Keep reading until the buffer is full
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Decodes the lines between the given offsets. The start must be at the beginning of a line.
+     *
+     * @param buffer The buffer holding the file contents.
+     * @param start  The offset of the first byte to decode.
+     * @param end    The offset just past the last byte to decode.
+     * @param tasks  The list to add the decoded tasks to.
+     * @param index  The index to record the position of each task in, or null if not needed.
+     */
+    void decode(ByteBuffer buffer, int start, int end, List<Task> tasks, RecordIndex index) {
+        int position = start;
+        while (position < end) {
+            int lineStart = position;
+            int length = 0;
+            int fieldCount = 1;
+            fieldStarts[0] = 0;
+            boolean hasEscape = false;
+            byte b = 0;
+            while (position < end && (b = buffer.get(position)) != '\n' && b != '\r') {
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+                if (b == '|' && fieldCount <= MAX_FIELDS) {
+                    fieldStarts[fieldCount++] = length;
+                }
+                hasEscape |= b == '%';
+                position++;
+            }
+            // Step over the terminator, treating "\r\n" as a single line break
+            position = Math.min(position + 1, end);
+            if (b == '\r' && position < end && buffer.get(position) == '\n') {
+                position++;
+            }
+            if (fieldCount <= MAX_FIELDS) {
+                fieldStarts[fieldCount] = length + 1;
+            }
+
+            if (!isTombstone(length)) {
+                // Escaped fields are rare, so they are left to the slow path
+                Task task = hasEscape ? decodeSlowly(length) : decodeLine(length, fieldCount);
+                if (task == null) {
+                    continue;
+                }
+                task.setId(recordCount);
+                tasks.add(task);
+            }
+            if (index != null) {
+                index.add(lineStart, line[0]);
+            }
+            recordCount++;
+        }
+    }
+
+    /**
+     * Gets the number of records decoded so far, including the tombstones of deleted tasks.
+     * This is also the ID the next record would take.
+     *
+     * @return The number of records.
+     */
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    private boolean isTombstone(int length) {
+        return length >= 2 && line[1] == '|' && Storage.isTombstoneTag(line[0]);
+    }
+
+    /**
+     * Decodes the line currently held in the scratch buffer.
+     *
+     * @param length     The length of the line in bytes.
+     * @param fieldCount The number of `|`-separated fields found, capped just above what any task needs.
+     * @return The decoded task, or null if the line does not describe a task.
+     */
+    private Task decodeLine(int length, int fieldCount) {
+        if (length < 2 || line[1] != '|' || fieldCount < 3 || fieldEnd(1) - fieldStarts[1] != 1) {
+            return decodeSlowly(length);
+        }
+        byte status = line[fieldStarts[1]];
+        if (status != '0' && status != '1') {
+            return decodeSlowly(length);
+        }
+        int isMarked = status - '0';
+
+        switch (line[0]) {
+        case 'T':
+            if (isEmptyField(2)) {
+                return decodeSlowly(length);
+            }
+            return new ToDoTask(field(2), isMarked);
+        case 'D':
+            if (fieldCount < 4 || isEmptyField(3)) {
+                return decodeSlowly(length);
+            }
+            LocalDate date = parseDate(line, fieldStarts[3], fieldEnd(3) - fieldStarts[3]);
+            if (date == null) {
+                return decodeSlowly(length);
+            }
+            return new DeadlineTask(field(2), date, isMarked);
+        case 'E':
+            if (fieldCount < 5 || isEmptyField(4)) {
+                return decodeSlowly(length);
+            }
+            return new EventTask(field(2), field(3), field(4), isMarked);
+        default:
+            return decodeSlowly(length);
+        }
+    }
+
+    private Task decodeSlowly(int length) {
+        return Storage.dataToTask(new String(line, 0, length, charset));
+    }
+
+    private int fieldEnd(int index) {
+        return fieldStarts[index + 1] - 1;
+    }
+
+    private boolean isEmptyField(int index) {
+        return fieldEnd(index) == fieldStarts[index];
+    }
+
+    private String field(int index) {
+        return new String(line, fieldStarts[index], fieldEnd(index) - fieldStarts[index], charset);
+    }
+
+    /**
+     * Parses a date in the strict `yyyy-MM-dd` format without going through a formatter.
+     *
+     * @param bytes  The bytes holding the date.
+     * @param offset The offset of the date.
+     * @param length The length of the date in bytes.
+     * @return The parsed date, or null if the bytes are not a valid `yyyy-MM-dd` date.
+     */
+    static LocalDate parseDate(byte[] bytes, int offset, int length) {
+        if (length != 10 || bytes[offset + 4] != '-' || bytes[offset + 7] != '-') {
+            return null;
+        }
+        int year = digits(bytes, offset, 4);
+        int month = digits(bytes, offset + 5, 2);
+        int day = digits(bytes, offset + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(byte[] bytes, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
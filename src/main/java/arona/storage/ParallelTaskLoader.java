@@ -0,0 +1,147 @@
+package arona.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import arona.task.Task;
+
+/**
+ * The `ParallelTaskLoader` class loads large storage files on several cores.
+ * The file is split into chunks at line boundaries, each chunk is decoded on the common
+ * fork-join pool, and the decoded chunks are concatenated in file order, with their task IDs
+ * shifted past the records of the chunks before them.
+ * Files below {@link #PARALLEL_THRESHOLD}, or on machines with a single core, decode sequentially
+ * on the calling thread instead.
+ */
+class ParallelTaskLoader {
+    static final long PARALLEL_THRESHOLD = 4 * 1024 * 1024;
+
+    private static final int MIN_CHUNK_BYTES = 1024 * 1024;
+    private static final int CHUNKS_PER_CORE = 4;
+
+    /**
+     * Loads all tasks in the given file, in file order, skipping deleted tasks.
+     *
+     * @param file  The storage file to load.
+     * @param tasks The list to add the loaded tasks to.
+     * @param index The index to record the position of each task in, or null if not needed.
+     * @throws IOException If the file cannot be read.
+     */
+    static void load(Path file, List<Task> tasks, RecordIndex index) throws IOException {
+        long threshold = ForkJoinPool.getCommonPoolParallelism() < 2 ? Long.MAX_VALUE : PARALLEL_THRESHOLD;
+        load(file, tasks, index, threshold, MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Loads all tasks in the given file like {@link #load(Path, List, RecordIndex)}, with the given
+     * threshold and chunk size, so that small files can be split too.
+     *
+     * @param file              The storage file to load.
+     * @param tasks             The list to add the loaded tasks to.
+     * @param index             The index to record the position of each task in, or null if not needed.
+     * @param parallelThreshold The smallest file, in bytes, that is split into chunks.
+     * @param minChunkBytes     The smallest chunk, in bytes.
+     * @throws IOException If the file cannot be read.
+     */
+    static void load(Path file, List<Task> tasks, RecordIndex index, long parallelThreshold, int minChunkBytes)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = MappedTaskLoader.read(channel);
+            int size = buffer.limit();
+            if (size < parallelThreshold) {
+                new MappedTaskLoader().decode(buffer, 0, size, tasks, index);
+                return;
+            }
+
+            int[] bounds = splitAtLines(buffer, chunkCount(size, minChunkBytes));
+            List<ChunkDecoder> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                chunks.add(new ChunkDecoder(buffer, bounds[i], bounds[i + 1], index != null));
+            }
+            ForkJoinTask.invokeAll(chunks);
+            int firstId = 0;
+            for (ChunkDecoder chunk : chunks) {
+                for (Task task : chunk.join()) {
+                    // Each chunk numbers its records from zero
+                    task.setId(firstId + task.getId());
+                    tasks.add(task);
+                }
+                firstId += chunk.recordCount;
+                if (index != null) {
+                    index.addAll(chunk.index);
+                }
+            }
+        }
+    }
+
+    private static int chunkCount(int size, int minChunkBytes) {
+        int byCores = Math.max(2, ForkJoinPool.getCommonPoolParallelism()) * CHUNKS_PER_CORE;
+        return Math.max(1, Math.min(byCores, size / minChunkBytes));
+    }
+
+    /**
+     * Splits the buffer into roughly equal chunks, moving each split point just past the next newline
+     * so that no line is cut in two.
+     *
+     * @param buffer     The buffer holding the file contents.
+     * @param chunkCount The desired number of chunks.
+     * @return The chunk boundaries, starting at 0 and ending at the buffer limit.
+     */
+    private static int[] splitAtLines(ByteBuffer buffer, int chunkCount) {
+        int size = buffer.limit();
+        int[] bounds = new int[chunkCount + 1];
+        int count = 1;
+        for (int i = 1; i < chunkCount; i++) {
+            int split = Math.max((int) ((long) size * i / chunkCount), bounds[count - 1]);
+            while (split < size && buffer.get(split) != '\n') {
+                split++;
+            }
+            if (split + 1 >= size) {
+                break;
+            }
+            if (split + 1 > bounds[count - 1]) {
+                bounds[count++] = split + 1;
+            }
+        }
+        bounds[count++] = size;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Decodes one chunk of the file into its own list of tasks and, optionally, its own record index.
+     * Decoders are never serialized, although fork-join tasks are serializable.
+     */
+    @SuppressWarnings("serial")
+    private static class ChunkDecoder extends RecursiveTask<List<Task>> {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+        private final RecordIndex index;
+        private int recordCount;
+
+        ChunkDecoder(ByteBuffer buffer, int start, int end, boolean isIndexed) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+            this.index = isIndexed ? new RecordIndex() : null;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            List<Task> tasks = new ArrayList<>();
+            MappedTaskLoader loader = new MappedTaskLoader();
+            loader.decode(buffer, start, end, tasks, index);
+            recordCount = loader.getRecordCount();
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package arona.storage;
+
+import java.util.Arrays;
+
+/**
+ * The `RecordIndex` class records where each task lives in the storage file.
+ * Entry i holds the byte offset and type tag of the record for the task with ID i, including deleted
+ * tasks, which lets {@link Storage} patch a single record without reading the rest of the file.
+ */
+class RecordIndex {
+    private long[] offsets = new long[16];
+    private byte[] tags = new byte[16];
+    private int size;
+
+    /**
+     * Adds a record at the end of the index.
+     *
+     * @param offset The byte offset of the record.
+     * @param tag    The type tag of the record, in lower case if the task is deleted.
+     */
+    void add(long offset, byte tag) {
+        ensureCapacity(size + 1);
+        offsets[size] = offset;
+        tags[size] = tag;
+        size++;
+    }
+
+    /**
+     * Appends all records of another index, such as one built for a later chunk of the same file.
+     *
+     * @param other The index to append.
+     */
+    void addAll(RecordIndex other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.offsets, 0, offsets, size, other.size);
+        System.arraycopy(other.tags, 0, tags, size, other.size);
+        size += other.size;
+    }
+
+    long getOffset(int i) {
+        return offsets[i];
+    }
+
+    byte getTag(int i) {
+        return tags[i];
+    }
+
+    void setTag(int i, byte tag) {
+        tags[i] = tag;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > offsets.length) {
+            int newCapacity = Math.max(capacity, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            tags = Arrays.copyOf(tags, newCapacity);
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package arona.storage;
 
-import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntPredicate;
 
 import arona.exception.IllegalArgumentAronaException;
 import arona.task.DeadlineTask;
@@ -19,10 +33,38 @@ import arona.task.ToDoTask;
 
 /**
  * The `Storage` class is responsible for loading, saving, and updating tasks in a file.
+ * In journaled mode, mutations are appended to a small journal beside the file instead of
+ * rewriting it, and the journal is folded back into the file in the background.
+ * The file may be in either {@link StorageFormat}; the format is detected when the file is loaded.
+ * Tasks are addressed by ID, which is the position of their record in the file. Records are only ever
+ * appended, and a deleted task leaves its record behind as a tombstone with a lower-case type tag,
+ * so IDs never shift while Arona runs. When the file is first loaded and enough of it is tombstones that the undo
+ * history no longer refers to, it is rewritten without them, and the tasks and the history get new IDs.
+ * A journal left by an earlier session in journaled mode is folded into the file when storage is opened outside it.
+ * Outside journaled mode, the offset of every record is kept in a {@link RecordIndex},
+ * so marking, deleting or restoring a task overwrites a single byte.
  */
 public class Storage {
+    static final int JOURNAL_COMPACTION_THRESHOLD = 1000;
+    /** The fewest tombstones worth rewriting the storage file for. */
+    static final int DEFAULT_RECLAIM_MINIMUM = 100;
+
+    private static final int TEXT_DONE_FLAG_OFFSET = 2;
+
     private Path path;
     private File inFile;
+    private BatchedWriter dataWriter;
+    private Journal journal;
+    private ExecutorService compactor;
+    private Future<?> compaction;
+    private boolean isParallelLoad = true;
+    /** The format of the file, which the journal compactor may detect again while commands run. */
+    private volatile StorageFormat format = StorageFormat.TEXT;
+    private RecordIndex recordIndex;
+    private int nextTaskId = Task.NO_ID;
+    /** Whether the last line of the file was left without a newline, also set by the journal compactor. */
+    private volatile boolean isMissingFinalNewline;
+    private int reclaimMinimum = DEFAULT_RECLAIM_MINIMUM;
 
     /**
      * Initializes a new instance of the `Storage` class with the specified file path.
@@ -30,9 +72,21 @@ public class Storage {
      * @param filePath The path to the storage file.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Initializes a new instance of the `Storage` class with the specified file path,
+     * optionally journaling mutations instead of rewriting the file.
+     *
+     * @param filePath    The path to the storage file.
+     * @param isJournaled Whether mutations should be appended to a journal beside the file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
         assert filePath != null : "File path cannot be null";
         this.path = Paths.get(filePath);
         this.inFile = path.toFile();
+        this.dataWriter = new BatchedWriter(path);
         if (!inFile.exists()) {
             try {
                 // Create the parent directories if they don't exist
@@ -46,299 +100,820 @@ public class Storage {
                 System.out.println("Error creating file: " + e.getMessage());
             }
         }
+        try {
+            this.format = StorageFormat.detect(path);
+        } catch (IOException e) {
+            System.out.println("Error reading from file: " + e.getMessage());
+        }
+        if (isJournaled) {
+            this.journal = new Journal(path, JOURNAL_COMPACTION_THRESHOLD);
+            this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "arona-journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (journal.hasRotated()) {
+                // A previous session stopped before compacting; finish the job in the background.
+                compaction = compactor.submit(this::compactJournal);
+            }
+        } else if (Files.exists(Journal.getPath(path)) || Files.exists(Journal.getRotatedPath(path))) {
+            foldLeftoverJournal();
+        }
+    }
+
+    /**
+     * Folds a journal left beside the file by a session in journaled mode into the file, so that its changes
+     * are neither lost outside journaled mode nor replayed later on top of changes made without it.
+     */
+    private void foldLeftoverJournal() {
+        journal = new Journal(path, JOURNAL_COMPACTION_THRESHOLD);
+        try {
+            foldJournal();
+            journal.close();
+            if (!journal.hasRotated()) {
+                // Whatever is left is an empty journal
+                Files.deleteIfExists(Journal.getPath(path));
+            }
+        } catch (IOException e) {
+            System.out.println("Error folding journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+
+    /**
+     * Sets how eagerly saved tasks and journal records are forced to disk.
+     *
+     * @param syncPolicy The sync policy to use.
+     */
+    public void setSyncPolicy(SyncPolicy syncPolicy) {
+        setSyncPolicy(syncPolicy, 0);
+    }
+
+    /**
+     * Sets how eagerly saved tasks and journal records are forced to disk.
+     *
+     * @param syncPolicy     The sync policy to use.
+     * @param intervalMillis The sync interval in milliseconds, used only by {@link SyncPolicy#INTERVAL}.
+     */
+    public void setSyncPolicy(SyncPolicy syncPolicy, long intervalMillis) {
+        dataWriter.setSyncPolicy(syncPolicy, intervalMillis);
+        if (journal != null) {
+            journal.setSyncPolicy(syncPolicy, intervalMillis);
+        }
+    }
+
+    /**
+     * Sets whether large storage files are decoded on several cores when loading.
+     * Small files are always loaded on the calling thread.
+     *
+     * @param isParallelLoad Whether large files should be loaded in parallel.
+     */
+    public void setParallelLoad(boolean isParallelLoad) {
+        this.isParallelLoad = isParallelLoad;
+    }
+
+    /**
+     * Gets the format of the storage file.
+     *
+     * @return The storage format.
+     */
+    public StorageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Writes all pending changes to the storage file and forces them to disk.
+     */
+    public void flush() {
+        try {
+            dataWriter.flush();
+            if (journal != null) {
+                journal.flush();
+            }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all pending changes to disk and closes the storage file.
+     * In journaled mode, a compaction still running is allowed to finish first, so that it does not
+     * go on writing the file after it is closed.
+     */
+    public void close() {
+        if (compactor != null) {
+            awaitCompaction();
+            compactor.shutdown();
+        }
+        try {
+            dataWriter.close();
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
     }
 
     /**
      * Loads tasks from the storage file and populates the given tasks list.
+     * Deleted tasks are skipped, and every loaded task is given its ID.
+     * In journaled mode, the journal is replayed on top of the file. Otherwise, the position of every
+     * record is indexed so that later changes can patch the file in place.
      *
      * @param tasks The list of tasks to populate with data from the storage file.
      */
     public void loadTasks(ArrayList<Task> tasks) {
+        boolean isFirstLoad = recordIndex == null && nextTaskId == Task.NO_ID;
+        if (journal == null) {
+            RecordIndex index = new RecordIndex();
+            loadSnapshot(tasks, index);
+            if (isFirstLoad && reclaimTombstones(index.size(), id -> isTombstoneTag(index.getTag(id)))) {
+                tasks.clear();
+                recordIndex = new RecordIndex();
+                loadSnapshot(tasks, recordIndex);
+            } else {
+                recordIndex = index;
+            }
+            return;
+        }
+        awaitCompaction();
+        List<Task> replayed = loadJournaled();
+        List<Task> tasksById = replayed;
+        if (isFirstLoad && reclaimTombstones(replayed.size(), id -> replayed.get(id) == null)) {
+            tasksById = loadJournaled();
+        }
+        for (Task task : tasksById) {
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        nextTaskId = tasksById.size();
+    }
+
+    /**
+     * Loads the tasks from the file and replays the journal on top of them.
+     *
+     * @return The tasks indexed by ID, with null in place of deleted tasks.
+     */
+    private List<Task> loadJournaled() {
+        RecordIndex index = new RecordIndex();
+        ArrayList<Task> snapshot = new ArrayList<>();
+        loadSnapshot(snapshot, index);
+        List<Task> tasksById = new ArrayList<>(Collections.nCopies(index.size(), null));
+        for (Task task : snapshot) {
+            tasksById.set(task.getId(), task);
+        }
+        journal.replay(tasksById);
+        return tasksById;
+    }
+
+    private void loadSnapshot(ArrayList<Task> tasks, RecordIndex index) {
         try {
+            dataWriter.flush();
             if (!inFile.exists()) {
                 inFile.createNewFile();
             }
 
-            BufferedReader br = new BufferedReader(new FileReader(path.toString()));
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] strings = line.split("\\|");
-                switch (strings[0]) {
-                case "T":
-                    ToDoTask todoTask = new ToDoTask(strings[2], Integer.parseInt(strings[1]));
-                    tasks.add(todoTask);
-                    break;
-                case "D":
-                    DeadlineTask deadlineTask =
-                            new DeadlineTask(strings[2], LocalDate.parse(strings[3]), Integer.parseInt(strings[1]));
-                    tasks.add(deadlineTask);
-                    break;
-                case "E":
-                    EventTask eventTask =
-                            new EventTask(strings[2], strings[3], strings[4], Integer.parseInt(strings[1]));
-                    tasks.add(eventTask);
-                    break;
-                default:
-                    break;
-                }
+            // Both are published only once the file is read, as the journal compactor calls this too
+            StorageFormat detected = StorageFormat.detect(path);
+            if (detected == StorageFormat.BINARY) {
+                BinaryTaskCodec.load(path, tasks, index);
+            } else if (isParallelLoad) {
+                ParallelTaskLoader.load(path, tasks, index);
+            } else {
+                MappedTaskLoader.load(path, tasks, index);
             }
-            br.close();
+            boolean hasNoFinalNewline = detected == StorageFormat.TEXT && endsWithoutNewline();
+            format = detected;
+            isMissingFinalNewline = hasNoFinalNewline;
         } catch (IOException e) {
             System.out.println("Error reading from file: " + e.getMessage());
         }
     }
 
+    /**
+     * Sets the fewest tombstones worth rewriting the storage file for when it is first loaded.
+     *
+     * @param reclaimMinimum The number of tombstones.
+     */
+    void setReclaimMinimum(int reclaimMinimum) {
+        assert reclaimMinimum > 0 : "Reclaim minimum must be positive";
+        this.reclaimMinimum = reclaimMinimum;
+    }
 
     /**
-     * Updates the status of a task as marked (completed) in the storage file.
+     * Rewrites the storage file without the deleted tasks that the undo history does not refer to, if there are
+     * enough of them to make up more than a quarter of the tasks ever saved. The remaining records keep their
+     * order and are copied byte for byte, so only their IDs change, and the history is given the new IDs.
+     * In journaled mode, the journal is folded into the file first, since its records name the old IDs.
      *
-     * @param taskIndex The index of the task to be marked.
+     * @param taskCount The number of tasks ever saved, deleted or not.
+     * @param isDeleted Checks whether the task with an ID is deleted.
+     * @return {@code true} if the file was rewritten and should be loaded again.
      */
-    public void updateTaskStatusAsMarked(int taskIndex) {
-        assert taskIndex >= 0 : "Invalid task index";
+    private boolean reclaimTombstones(int taskCount, IntPredicate isDeleted) {
+        int threshold = Math.max(reclaimMinimum, taskCount / 4 + 1);
+        if (countReclaimable(taskCount, isDeleted, Set.of()) < threshold) {
+            return false;
+        }
+        Set<Integer> referenced = HistoryLog.readRememberedTaskIds(path);
+        if (countReclaimable(taskCount, isDeleted, referenced) < threshold) {
+            return false;
+        }
         try {
-            File tempFile = new File(inFile.getAbsolutePath() + ".tmp");
+            if (journal != null) {
+                foldJournal();
+            }
+            RecordIndex index = new RecordIndex();
+            loadSnapshot(new ArrayList<>(), index);
+            int[] newIds = new int[index.size()];
+            int keptCount = 0;
+            for (int id = 0; id < index.size(); id++) {
+                boolean isKept = !isTombstoneTag(index.getTag(id)) || referenced.contains(id);
+                newIds[id] = isKept ? keptCount++ : -1;
+            }
+            copyRecords(index, newIds);
+            HistoryLog.remapTaskIds(path, newIds);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error reclaiming deleted tasks: " + e.getMessage());
+            return false;
+        }
+    }
 
-            BufferedReader br = new BufferedReader(new FileReader(inFile));
-            BufferedWriter bw = new BufferedWriter(new FileWriter(tempFile));
+    private static int countReclaimable(int taskCount, IntPredicate isDeleted, Set<Integer> referenced) {
+        int count = 0;
+        for (int id = 0; id < taskCount; id++) {
+            if (isDeleted.test(id) && !referenced.contains(id)) {
+                count++;
+            }
+        }
+        return count;
+    }
 
-            String line;
-            int currentLine = 0;
+    /**
+     * Folds the whole journal into the storage file on the calling thread, leaving no journal behind.
+     *
+     * @throws IOException If the journal cannot be moved.
+     */
+    private void foldJournal() throws IOException {
+        if (journal.hasRotated()) {
+            compactJournal();
+        }
+        if (journal.rotate()) {
+            compactJournal();
+        }
+    }
 
-            while ((line = br.readLine()) != null) {
-                if (currentLine != taskIndex) {
-                    bw.write(line);
-                    bw.newLine();
-                } else {
-                    char[] charArray = line.toCharArray();
-                    charArray[2] = '1';
-                    String modifiedLine = new String(charArray);
-                    bw.write(modifiedLine);
-                    bw.newLine();
+    /**
+     * Writes the records that are given a new ID to a new file in runs of consecutive records,
+     * together with anything before the first record such as the header of a binary file,
+     * and moves it into place.
+     *
+     * @param index  The index of the records in the file.
+     * @param newIds The new ID of each record, or -1 if the record is left out.
+     * @throws IOException If the file cannot be read or written.
+     */
+    private void copyRecords(RecordIndex index, int[] newIds) throws IOException {
+        dataWriter.release();
+        Path tempFile = Paths.get(path.toAbsolutePath() + ".tmp");
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            long runStart = 0;
+            for (int id = 0; id < index.size(); id++) {
+                if (newIds[id] < 0) {
+                    transfer(in, runStart, index.getOffset(id), out);
+                    runStart = id + 1 < index.size() ? index.getOffset(id + 1) : in.size();
                 }
-                currentLine++;
             }
+            transfer(in, runStart, in.size(), out);
+            out.force(false);
+        }
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
 
-            br.close();
-            bw.close();
-
-            inFile.delete();
-            tempFile.renameTo(inFile);
-
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
+    private static void transfer(FileChannel in, long from, long to, FileChannel out) throws IOException {
+        long position = from;
+        while (position < to) {
+            position += in.transferTo(position, to - position, out);
         }
     }
 
     /**
-     * Updates the status of a task as unmarked in the storage file.
+     * Converts a line of the storage file back into a task, undoing the escapes written by {@link #taskToData}.
      *
-     * @param taskIndex The index of the task to be unmarked.
+     * @param line The data string representing the task.
+     * @return The task, or null if the line does not describe a known task type.
      */
-    public void updateTaskStatusAsUnmarked(int taskIndex) {
-        assert taskIndex >= 0 : "Invalid task index";
-        try {
-            File tempFile = new File(inFile.getAbsolutePath() + ".tmp");
+    public static Task dataToTask(String line) {
+        String[] fields = line.split("\\|");
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = unescapeField(fields[i]);
+        }
+        return fieldsToTask(fields);
+    }
 
-            BufferedReader br = new BufferedReader(new FileReader(inFile));
-            BufferedWriter bw = new BufferedWriter(new FileWriter(tempFile));
+    private static Task fieldsToTask(String[] strings) {
+        switch (strings[0]) {
+        case "T":
+            return new ToDoTask(strings[2], Integer.parseInt(strings[1]));
+        case "D":
+            return new DeadlineTask(strings[2], LocalDate.parse(strings[3]), Integer.parseInt(strings[1]));
+        case "E":
+            return new EventTask(strings[2], strings[3], strings[4], Integer.parseInt(strings[1]));
+        default:
+            return null;
+        }
+    }
 
-            String line;
-            int currentLine = 0;
+    /**
+     * Checks whether a type tag marks the record of a deleted task.
+     *
+     * @param tag The type tag of a record.
+     * @return {@code true} if the tag is the lower-case tag of a tombstone.
+     */
+    static boolean isTombstoneTag(byte tag) {
+        return tag == 't' || tag == 'd' || tag == 'e';
+    }
 
-            while ((line = br.readLine()) != null) {
-                if (currentLine != taskIndex) {
-                    bw.write(line);
-                    bw.newLine();
-                } else {
-                    char[] charArray = line.toCharArray();
-                    charArray[2] = '0';
-                    String modifiedLine = new String(charArray);
-                    bw.write(modifiedLine);
-                    bw.newLine();
-                }
-                currentLine++;
-            }
+    /**
+     * Updates the status of a task as marked (completed) in the storage file.
+     *
+     * @param taskId The ID of the task to be marked.
+     */
+    public void updateTaskStatusAsMarked(int taskId) {
+        assert taskId >= 0 : "Invalid task ID";
+        if (journal != null) {
+            appendToJournal(Journal.MARK + "|" + taskId);
+            return;
+        }
+        writeDoneFlag(getRecordIndex(), taskId, true);
+    }
 
-            br.close();
-            bw.close();
+    /**
+     * Updates the status of a task as unmarked in the storage file.
+     *
+     * @param taskId The ID of the task to be unmarked.
+     */
+    public void updateTaskStatusAsUnmarked(int taskId) {
+        assert taskId >= 0 : "Invalid task ID";
+        if (journal != null) {
+            appendToJournal(Journal.UNMARK + "|" + taskId);
+            return;
+        }
+        writeDoneFlag(getRecordIndex(), taskId, false);
+    }
 
-            inFile.delete();
-            tempFile.renameTo(inFile);
+    /**
+     * Updates the status of several tasks as marked (completed) in the storage file in one batch.
+     *
+     * @param tasks The tasks to be marked.
+     */
+    public void updateTasksStatusAsMarked(List<? extends Task> tasks) {
+        beginBatch();
+        try {
+            tasks.forEach(task -> updateTaskStatusAsMarked(task.getId()));
+        } finally {
+            endBatch();
+        }
+    }
 
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
+    /**
+     * Updates the status of several tasks as unmarked in the storage file in one batch.
+     *
+     * @param tasks The tasks to be unmarked.
+     */
+    public void updateTasksStatusAsUnmarked(List<? extends Task> tasks) {
+        beginBatch();
+        try {
+            tasks.forEach(task -> updateTaskStatusAsUnmarked(task.getId()));
+        } finally {
+            endBatch();
         }
     }
 
     /**
-     * Saves a to-do task to the storage file.
+     * Saves a to-do task to the storage file and gives it the next ID.
      *
      * @param todoTask The to-do task to be saved.
      */
     public void saveTask(ToDoTask todoTask) {
-        try {
-            BufferedWriter bw = new BufferedWriter(new FileWriter(inFile, true));
+        saveNewTask(todoTask);
+    }
 
-            String data = "T|0|" + todoTask.getDescription() + "\n";
+    /**
+     * Saves a deadline task to the storage file and gives it the next ID.
+     *
+     * @param deadlineTask The deadline task to be saved.
+     */
+    public void saveTask(DeadlineTask deadlineTask) {
+        saveNewTask(deadlineTask);
+    }
+
+    /**
+     * Saves an event task to the storage file and gives it the next ID.
+     *
+     * @param eventTask The event task to be saved.
+     */
+    public void saveTask(EventTask eventTask) {
+        saveNewTask(eventTask);
+    }
 
-            bw.write(data);
-            bw.close();
+    /**
+     * Saves several new tasks to the storage file in one batch, giving them consecutive IDs.
+     * The records are buffered and forced to disk together, rather than once per task.
+     *
+     * @param tasks The tasks to be saved, in order.
+     */
+    public void saveTasks(List<? extends Task> tasks) {
+        beginBatch();
+        try {
+            tasks.forEach(this::saveNewTask);
+        } finally {
+            endBatch();
+        }
+    }
 
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
+    /**
+     * Deletes a task from the storage file by turning its record into a tombstone.
+     *
+     * @param taskId The ID of the task to be deleted.
+     */
+    public void deleteTask(int taskId) {
+        assert taskId >= 0 : "Invalid task ID";
+        if (journal != null) {
+            appendToJournal(Journal.DELETE + "|" + taskId);
+            return;
         }
+        writeTag(getRecordIndex(), taskId, true);
     }
 
     /**
-     * Saves a deadline task to the storage file.
+     * Deletes several tasks from the storage file in one batch.
      *
-     * @param deadlineTask The deadline task to be saved.
+     * @param tasks The tasks to be deleted.
      */
-    public void saveTask(DeadlineTask deadlineTask) {
+    public void deleteTasks(List<? extends Task> tasks) {
+        beginBatch();
         try {
-            BufferedWriter bw = new BufferedWriter(new FileWriter(inFile, true));
+            tasks.forEach(task -> deleteTask(task.getId()));
+        } finally {
+            endBatch();
+        }
+    }
 
-            String data = "D|0|" + deadlineTask.getDescription() + "|" + deadlineTask.getDate() + "\n";
+    /**
+     * Restores several deleted tasks to their old places in the storage file in one batch.
+     *
+     * @param tasks The deleted tasks, which still have their IDs.
+     */
+    public void restoreTasks(List<? extends Task> tasks) {
+        beginBatch();
+        try {
+            tasks.forEach(this::restoreTask);
+        } finally {
+            endBatch();
+        }
+    }
 
-            bw.write(data);
-            bw.close();
+    /**
+     * Restores a deleted task to its old place in the storage file.
+     *
+     * @param task The deleted task, which still has its ID.
+     */
+    public void restoreTask(Task task) {
+        assert task != null : "Task cannot be null";
+        assert task.getId() >= 0 : "Task has no ID";
 
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
+        try {
+            if (journal != null) {
+                appendToJournal(Journal.RESTORE + "|" + task.getId() + "|" + taskToData(task));
+                return;
+            }
+            writeTag(getRecordIndex(), task.getId(), false);
+        } catch (IllegalArgumentAronaException e) {
+            throw new RuntimeException(e);
         }
     }
 
     /**
-     * Saves an event task to the storage file.
+     * Converts a task to a data string that can be saved to the storage file. The separator, line breaks and
+     * {@code %} are escaped in every field, so that any description reads back as the same task from a single line.
+     * Descriptions loaded from a binary storage file may hold any of these.
      *
-     * @param eventTask The event task to be saved.
+     * @param task The task to be converted to a data string.
+     * @return The data string representing the task.
      */
-    public void saveTask(EventTask eventTask) {
-        try {
-            BufferedWriter bw = new BufferedWriter(new FileWriter(inFile, true));
+    static String taskToData(Task task) throws IllegalArgumentAronaException {
+        String[] fields = taskToFields(task);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = escapeField(fields[i]);
+        }
+        return String.join("|", fields);
+    }
 
-            String data = "E|0|" + eventTask.getDescription() + "|"
-                    + eventTask.getFrom() + "|" + eventTask.getTo() + "\n";
+    private static String[] taskToFields(Task task) throws IllegalArgumentAronaException {
+        if (task instanceof ToDoTask) {
+            ToDoTask todoTask = (ToDoTask) task;
+            return new String[] {"T", todoTask.getIsDone() ? "1" : "0", todoTask.getDescription()};
+        } else if (task instanceof DeadlineTask) {
+            DeadlineTask deadlineTask = (DeadlineTask) task;
+            return new String[] {"D", deadlineTask.getIsDone() ? "1" : "0", deadlineTask.getDescription(),
+                deadlineTask.getDate().toString()};
+        } else if (task instanceof EventTask) {
+            EventTask eventTask = (EventTask) task;
+            return new String[] {"E", eventTask.getIsDone() ? "1" : "0", eventTask.getDescription(),
+                eventTask.getFrom(), eventTask.getTo()};
+        } else {
+            throw new IllegalArgumentAronaException("Ehh... I was unable to get back the deleted task :(");
+        }
+    }
 
-            bw.write(data);
-            bw.close();
+    private static String escapeField(String field) {
+        return field.replace("%", "%25").replace("|", "%7C").replace("\n", "%0A").replace("\r", "%0D");
+    }
 
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
+    private static String unescapeField(String field) {
+        if (field.indexOf('%') < 0) {
+            return field;
         }
+        // Every % written by escapeField starts an escape, so %25 is undone last
+        return field.replace("%7C", "|").replace("%0A", "\n").replace("%0D", "\r").replace("%25", "%");
     }
 
     /**
-     * Deletes a task from the storage file based on its index.
+     * Saves a new task at the end of the storage file, or journals it in journaled mode.
      *
-     * @param taskIndex The index of the task to be deleted.
+     * @param task The task to be saved.
      */
-    public void deleteTask(int taskIndex) {
-        assert taskIndex >= 0 : "Invalid task index";
+    private void saveNewTask(Task task) {
         try {
-            File tempFile = new File(inFile.getAbsolutePath() + ".tmp");
-
-            BufferedReader br = new BufferedReader(new FileReader(inFile));
-            BufferedWriter bw = new BufferedWriter(new FileWriter(tempFile));
+            if (journal != null) {
+                task.setId(takeNextTaskId());
+                appendToJournal(Journal.ADD + "|" + task.getId() + "|" + taskToData(task));
+                return;
+            }
+            task.setId(getRecordIndex().size());
+            appendRecord(getRecordIndex(), task);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        } catch (IllegalArgumentAronaException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            String line = null;
-            int currentLine = 0;
+    private void beginBatch() {
+        dataWriter.beginBatch();
+        if (journal != null) {
+            journal.beginBatch();
+        }
+    }
 
-            while ((line = br.readLine()) != null) {
-                if (currentLine != taskIndex) {
-                    bw.write(line);
-                    bw.newLine();
-                }
-                currentLine++;
+    private void endBatch() {
+        try {
+            dataWriter.endBatch();
+            if (journal != null) {
+                journal.endBatch();
             }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
-            br.close();
-            bw.close();
-
-            inFile.delete();
-            tempFile.renameTo(inFile);
+    /**
+     * Appends a record for the task to the storage file and indexes it.
+     *
+     * @param index The index of the records in the file.
+     * @param task  The task to be appended.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentAronaException If the task is of an unknown type.
+     */
+    private void appendRecord(RecordIndex index, Task task) throws IOException, IllegalArgumentAronaException {
+        if (isMissingFinalNewline) {
+            // Terminate a last line written by hand, so the new record starts on a line of its own
+            dataWriter.append(new byte[] {'\n'});
+            isMissingFinalNewline = false;
+        }
+        byte[] record = encodeRecord(task);
+        long offset = dataWriter.size();
+        dataWriter.append(record);
+        index.add(offset, record[0]);
+    }
 
+    /**
+     * Overwrites the done flag of a task in place.
+     *
+     * @param index  The index of the records in the file.
+     * @param taskId The ID of the task to be updated.
+     * @param isDone Whether the task is done.
+     */
+    private void writeDoneFlag(RecordIndex index, int taskId, boolean isDone) {
+        try {
+            if (taskId >= index.size()) {
+                return;
+            }
+            long offset = index.getOffset(taskId);
+            if (format == StorageFormat.BINARY) {
+                dataWriter.write(offset + BinaryTaskCodec.DONE_FLAG_OFFSET, isDone ? (byte) 1 : (byte) 0);
+            } else {
+                dataWriter.write(offset + TEXT_DONE_FLAG_OFFSET, isDone ? (byte) '1' : (byte) '0');
+            }
         } catch (IOException e) {
             System.out.println(e.getMessage());
         }
     }
 
     /**
-     * Saves a task to the storage file at the specified index.
+     * Overwrites the type tag of a task in place, turning its record into a tombstone or back.
+     * The tag is the first byte of a record in both formats.
      *
-     * @param task The task to be saved.
-     * @param taskIndex The index where the task should be saved.
+     * @param index     The index of the records in the file.
+     * @param taskId    The ID of the task to be updated.
+     * @param isDeleted Whether the task is deleted.
      */
-    public void saveTaskWithIndex(Task task, int taskIndex) {
-        assert task != null : "Task cannot be null";
-        assert taskIndex >= 0 : "Invalid task index";
-
+    private void writeTag(RecordIndex index, int taskId, boolean isDeleted) {
         try {
-            File tempFile = new File(inFile.getAbsolutePath() + ".tmp");
+            if (taskId >= index.size()) {
+                return;
+            }
+            byte tag = index.getTag(taskId);
+            byte newTag = (byte) (isDeleted ? Character.toLowerCase(tag) : Character.toUpperCase(tag));
+            if (newTag != tag) {
+                dataWriter.write(index.getOffset(taskId), newTag);
+                index.setTag(taskId, newTag);
+            }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
-            BufferedReader br = new BufferedReader(new FileReader(inFile));
-            BufferedWriter bw = new BufferedWriter(new FileWriter(tempFile));
+    /**
+     * Encodes a task as a record in the format of the storage file.
+     *
+     * @param task The task to be encoded.
+     * @return The record bytes, including the line terminator for text files.
+     * @throws IllegalArgumentAronaException If the task is of an unknown type.
+     */
+    private byte[] encodeRecord(Task task) throws IllegalArgumentAronaException {
+        if (format == StorageFormat.BINARY) {
+            return BinaryTaskCodec.encode(task);
+        }
+        return (taskToData(task) + "\n").getBytes(Charset.defaultCharset());
+    }
 
-            String line;
-            int currentLine = 0;
-            boolean isTaskAppended = false;
+    /**
+     * Returns the record index, building it from the storage file if the tasks were never loaded.
+     *
+     * @return The record index.
+     */
+    private RecordIndex getRecordIndex() {
+        if (recordIndex == null) {
+            RecordIndex index = new RecordIndex();
+            loadSnapshot(new ArrayList<>(), index);
+            recordIndex = index;
+        }
+        return recordIndex;
+    }
 
-            while ((line = br.readLine()) != null) {
-                if (currentLine == taskIndex) {
-                    // Save the new task at the specified index
-                    String taskData = taskToData(task);
-                    bw.write(taskData);
-                    bw.newLine();
-                    isTaskAppended = true;
-                }
+    /**
+     * Takes the ID for a new task in journaled mode, loading the tasks first if they were never loaded.
+     *
+     * @return The ID for the new task.
+     */
+    private int takeNextTaskId() {
+        if (nextTaskId == Task.NO_ID) {
+            loadTasks(new ArrayList<>());
+        }
+        return nextTaskId++;
+    }
 
-                bw.write(line);
-                bw.newLine();
-                currentLine++;
+    private boolean endsWithoutNewline() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return false;
             }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            return last.get(0) != '\n' && last.get(0) != '\r';
+        }
+    }
 
-            // If the taskIndex is equal to the number of lines, append the task as line line
-            if (taskIndex == currentLine && !isTaskAppended) {
-                String taskData = taskToData(task);
-                bw.write(taskData);
-                bw.newLine();
+    /**
+     * Appends a record to the journal and starts a background compaction once the journal is full.
+     *
+     * @param record The journal record to append.
+     */
+    private void appendToJournal(String record) {
+        try {
+            journal.append(record);
+            if (journal.rotateIfFull()) {
+                compaction = compactor.submit(this::compactJournal);
             }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
-            br.close();
-            bw.close();
+    /**
+     * Folds the rotated journal into the storage file. Since every change addresses a task by ID,
+     * each record patches the file in place or appends to it, as it would outside journaled mode.
+     */
+    private void compactJournal() {
+        RecordIndex index = new RecordIndex();
+        loadSnapshot(new ArrayList<>(), index);
+        try {
+            for (String record : journal.readRotated()) {
+                applyToFile(record, index);
+            }
+            dataWriter.flush();
+            journal.discardRotated();
+        } catch (IOException e) {
+            System.out.println("Error compacting journal: " + e.getMessage());
+        }
+    }
 
-            inFile.delete();
-            tempFile.renameTo(inFile);
+    /**
+     * Applies a single journal record to the storage file. An added task whose ID is already
+     * in the file was folded in by an earlier compaction that did not finish, and is skipped.
+     *
+     * @param record The journal record.
+     * @param index  The index of the records in the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private void applyToFile(String record, RecordIndex index) throws IOException {
+        String[] parts = record.split("\\|", 3);
+        try {
+            int taskId = Integer.parseInt(parts[1]);
+            switch (parts[0]) {
+            case Journal.ADD:
+                if (taskId == index.size()) {
+                    appendRecord(index, dataToTask(parts[2]));
+                }
+                break;
+            case Journal.RESTORE:
+                writeTag(index, taskId, false);
+                break;
+            case Journal.MARK:
+                writeDoneFlag(index, taskId, true);
+                break;
+            case Journal.UNMARK:
+                writeDoneFlag(index, taskId, false);
+                break;
+            case Journal.DELETE:
+                writeTag(index, taskId, true);
+                break;
+            default:
+                break;
+            }
+        } catch (RuntimeException | IllegalArgumentAronaException e) {
+            System.out.println("Skipping unreadable journal record: " + record);
+        }
+    }
 
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
-        } catch (IllegalArgumentAronaException e) {
-            throw new RuntimeException(e);
+    /**
+     * Waits for a running background compaction to finish.
+     */
+    private void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Error compacting journal: " + e.getMessage());
         }
     }
 
     /**
-     * Converts a task to a data string that can be saved to the storage file.
+     * Writes the given tasks to a file in the given format. The new file is written beside the target
+     * and moved into place, so a crash leaves either the old or the new file intact.
      *
-     * @param task The task to be converted to a data string.
-     * @return The data string representing the task.
+     * @param tasks  The tasks to write.
+     * @param target The file to write.
+     * @param format The format to write the tasks in.
+     * @throws IOException If the file cannot be written.
      */
-    private String taskToData(Task task) throws IllegalArgumentAronaException {
-        if (task instanceof ToDoTask) {
-            ToDoTask todoTask = (ToDoTask) task;
-            return "T|" + (todoTask.getIsDone() ? "1" : "0") + "|" + todoTask.getDescription();
-        } else if (task instanceof DeadlineTask) {
-            DeadlineTask deadlineTask = (DeadlineTask) task;
-            return "D|" + (deadlineTask.getIsDone() ? "1" : "0") + "|"
-                    + deadlineTask.getDescription() + "|" + deadlineTask.getDate();
-        } else if (task instanceof EventTask) {
-            EventTask eventTask = (EventTask) task;
-            return "E|" + (eventTask.getIsDone() ? "1" : "0") + "|"
-                    + eventTask.getDescription() + "|" + eventTask.getFrom() + "|" + eventTask.getTo();
-        } else {
-            throw new IllegalArgumentAronaException("Ehh... I was unable to get back the deleted task :(");
+    static void writeTasks(List<Task> tasks, Path target, StorageFormat format) throws IOException {
+        Path tempFile = Paths.get(target.toAbsolutePath() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+            if (format == StorageFormat.BINARY) {
+                BinaryTaskCodec.write(tasks, out);
+            } else {
+                BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+                for (Task task : tasks) {
+                    bw.write(taskToData(task));
+                    bw.newLine();
+                }
+                bw.flush();
+            }
+        } catch (IllegalArgumentAronaException e) {
+            throw new IOException(e.getMessage(), e);
         }
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 }
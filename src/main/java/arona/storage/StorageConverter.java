@@ -0,0 +1,103 @@
+package arona.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import arona.task.Task;
+
+/**
+ * The `StorageConverter` class converts storage files between the text and binary formats.
+ * The format of the source file is detected automatically.
+ */
+public class StorageConverter {
+
+    /**
+     * Converts a storage file to the given format. The source and target may be the same file.
+     * Changes still waiting in a journal beside the source are included, so none are lost, while the source
+     * itself is left unchanged unless it is also the target.
+     * Deleted tasks are left out, so the remaining tasks are given new IDs, and the journal and undo history
+     * of the target are deleted since they no longer apply to it.
+     *
+     * @param source       The storage file to convert.
+     * @param target       The file to write the converted tasks to.
+     * @param targetFormat The format to convert to.
+     * @return The number of tasks converted.
+     * @throws IOException If either file cannot be read or written.
+     */
+    public static int convert(Path source, Path target, StorageFormat targetFormat) throws IOException {
+        if (!Files.exists(source)) {
+            throw new NoSuchFileException(source.toString());
+        }
+        List<Task> tasks = readTasks(source);
+        Storage.writeTasks(tasks, target, targetFormat);
+        Journal.discard(target);
+        Files.deleteIfExists(HistoryLog.getPath(target));
+        return tasks.size();
+    }
+
+    /**
+     * Reads the tasks of a storage file together with the changes waiting in its journal, leaving the file,
+     * its journal and its history as they are. The journal is folded into a copy of the file, and deleted
+     * tasks are not reclaimed from it, since reclaiming rewrites the file it is loaded from.
+     *
+     * @param source The storage file to read.
+     * @return The tasks, in file order.
+     * @throws IOException If the file cannot be read or copied.
+     */
+    private static List<Task> readTasks(Path source) throws IOException {
+        Path copyDirectory = Files.createTempDirectory("arona-convert");
+        Path copy = copyDirectory.resolve("arona");
+        try {
+            Files.copy(source, copy);
+            if (Files.exists(Journal.getPath(source))) {
+                Files.copy(Journal.getPath(source), Journal.getPath(copy));
+            }
+            if (Files.exists(Journal.getRotatedPath(source))) {
+                Files.copy(Journal.getRotatedPath(source), Journal.getRotatedPath(copy));
+            }
+            Storage storage = new Storage(copy.toString(), true);
+            storage.setReclaimMinimum(Integer.MAX_VALUE);
+            ArrayList<Task> tasks = new ArrayList<>();
+            storage.loadTasks(tasks);
+            storage.close();
+            return tasks;
+        } finally {
+            try (Stream<Path> files = Files.list(copyDirectory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(copyDirectory);
+        }
+    }
+
+    /**
+     * Converts a storage file from the command line.
+     * Usage: {@code StorageConverter SOURCE TARGET text|binary}
+     *
+     * @param args The source file, the target file and the target format.
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: StorageConverter SOURCE TARGET text|binary");
+            return;
+        }
+        try {
+            StorageFormat targetFormat = StorageFormat.valueOf(args[2].toUpperCase(Locale.ROOT));
+            int count = convert(Paths.get(args[0]), Paths.get(args[1]), targetFormat);
+            System.out.println("Converted " + count + " tasks to " + targetFormat.name().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown format: " + args[2]);
+        } catch (IOException e) {
+            System.out.println("Error converting file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package arona.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Represents the on-disk format of a storage file.
+ */
+public enum StorageFormat {
+    /** One pipe-delimited line per task, such as `D|0|description|2023-09-22`. */
+    TEXT,
+    /** Length-prefixed binary records behind a versioned header, see {@link BinaryTaskCodec}. */
+    BINARY;
+
+    /**
+     * Detects the format of the given file from its first bytes.
+     * Missing or empty files are treated as text.
+     *
+     * @param file The storage file to inspect.
+     * @return The format of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static StorageFormat detect(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return TEXT;
+        }
+        byte[] magic = new byte[BinaryTaskCodec.MAGIC.length];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read = in.readNBytes(magic, 0, magic.length);
+            if (read == magic.length && Arrays.equals(magic, BinaryTaskCodec.MAGIC)) {
+                return BINARY;
+            }
+        }
+        return TEXT;
+    }
+}
@@ -0,0 +1,13 @@
+package arona.storage;
+
+/**
+ * Represents how eagerly buffered storage writes are forced to disk.
+ */
+public enum SyncPolicy {
+    /** Every write is flushed and forced to disk before the command returns. */
+    EVERY_COMMAND,
+    /** Writes are batched and forced to disk at a fixed interval. */
+    INTERVAL,
+    /** Writes are batched and only forced to disk on an explicit flush or when storage is closed. */
+    ON_CLOSE
+}
@@ -0,0 +1,55 @@
+package arona.task;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import arona.storage.Storage;
+
+/**
+ * Represents a task list shared by several threads, such as the GUI and clients connected to Arona.
+ * Reads hold a shared lock, so any number of them run at once, while writes hold the lock on their own,
+ * so every change takes effect at once as seen by all readers.
+ * The indexes are built up front, because building them on the first query would change the list during a read.
+ * Every use of the list and its tasks must go through {@link #read} or {@link #write}. The lock cannot be
+ * taken twice by the same thread, so an action must not call read or write again.
+ */
+public class ConcurrentTaskList extends TaskList {
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Constructs a new shared task list by loading tasks from the provided storage.
+     *
+     * @param storage The storage object responsible for loading tasks into the list.
+     */
+    public ConcurrentTaskList(Storage storage) {
+        super(storage);
+        buildIndexes();
+    }
+
+    /**
+     * Constructs an empty shared task list.
+     */
+    public ConcurrentTaskList() {
+        buildIndexes();
+    }
+
+    @Override
+    public <T> T read(Supplier<T> action) {
+        long stamp = lock.readLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public <T> T write(Supplier<T> action) {
+        long stamp = lock.writeLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
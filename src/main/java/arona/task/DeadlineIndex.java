@@ -0,0 +1,88 @@
+package arona.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The `DeadlineIndex` class keeps the deadline tasks of a list sorted by due date.
+ * Tasks are grouped by the epoch day of their date, so the deadlines in a date range are found
+ * in time proportional to the logarithm of the number of dates plus the number of hits.
+ * Deadlines on the same day are keyed by task ID, so they are kept in list order.
+ */
+class DeadlineIndex {
+    private TreeMap<Long, TreeMap<Integer, DeadlineTask>> deadlinesByDay = new TreeMap<>();
+
+    /**
+     * Builds an index over the deadlines among the given tasks.
+     *
+     * @param tasks The tasks to index.
+     */
+    DeadlineIndex(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task if it is a deadline.
+     *
+     * @param task The added task.
+     */
+    void add(Task task) {
+        if (task instanceof DeadlineTask) {
+            DeadlineTask deadline = (DeadlineTask) task;
+            deadlinesByDay.computeIfAbsent(deadline.getDate().toEpochDay(), day -> new TreeMap<>())
+                    .put(deadline.getId(), deadline);
+        }
+    }
+
+    /**
+     * Removes a task from the index if it is a deadline.
+     *
+     * @param task The removed task.
+     */
+    void remove(Task task) {
+        if (!(task instanceof DeadlineTask)) {
+            return;
+        }
+        long day = ((DeadlineTask) task).getDate().toEpochDay();
+        TreeMap<Integer, DeadlineTask> deadlines = deadlinesByDay.get(day);
+        if (deadlines != null) {
+            deadlines.remove(task.getId());
+            if (deadlines.isEmpty()) {
+                deadlinesByDay.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Returns the deadlines due between two dates, inclusive, sorted by date.
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range.
+     * @return The deadlines in the range.
+     */
+    List<DeadlineTask> findBetween(LocalDate from, LocalDate to) {
+        return collect(deadlinesByDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values());
+    }
+
+    /**
+     * Returns the deadlines due strictly before a date, sorted by date.
+     *
+     * @param date The date to compare against.
+     * @return The deadlines due before the date.
+     */
+    List<DeadlineTask> findBefore(LocalDate date) {
+        return collect(deadlinesByDay.headMap(date.toEpochDay(), false).values());
+    }
+
+    private static List<DeadlineTask> collect(Iterable<TreeMap<Integer, DeadlineTask>> days) {
+        List<DeadlineTask> deadlines = new ArrayList<>();
+        for (TreeMap<Integer, DeadlineTask> day : days) {
+            deadlines.addAll(day.values());
+        }
+        return deadlines;
+    }
+}
@@ -7,6 +7,8 @@ import java.time.format.DateTimeFormatter;
  * Represents a deadline task. A deadline task has a description and a date for the deadline.
  */
 public class DeadlineTask extends Task {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
     protected LocalDate date;
 
     /**
@@ -48,7 +50,7 @@ public class DeadlineTask extends Task {
      */
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (" + this.date.format(DateTimeFormatter.ofPattern("MMM dd yyyy")) + ")";
+        return "[D]" + super.toString() + " (" + this.date.format(DATE_FORMAT) + ")";
     }
 
 }
@@ -0,0 +1,185 @@
+package arona.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The `EventIndex` class is an interval tree over the events of a list that have typed times.
+ * It is a treap ordered by start time, where every node also records the latest end in its subtree,
+ * so whole subtrees that end before a query range are skipped. Finding the events that overlap a range
+ * takes time proportional to the height of the tree, which is logarithmic in the number of events,
+ * for each event found.
+ */
+class EventIndex {
+    private Node root;
+    private Random random = new Random();
+
+    /**
+     * Builds an index over the events among the given tasks.
+     *
+     * @param tasks The tasks to index.
+     */
+    EventIndex(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task if it is an event with typed times.
+     *
+     * @param task The added task.
+     */
+    void add(Task task) {
+        if (!(task instanceof EventTask) || ((EventTask) task).getStart() == null) {
+            return;
+        }
+        root = insert(root, new Node((EventTask) task, random.nextInt()));
+    }
+
+    /**
+     * Removes a task from the index if it is an indexed event.
+     *
+     * @param task The removed task.
+     */
+    void remove(Task task) {
+        if (task instanceof EventTask && ((EventTask) task).getStart() != null) {
+            root = delete(root, new Node((EventTask) task, 0));
+        }
+    }
+
+    /**
+     * Returns the events that overlap a range of time, sorted by start.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range, which is not included in it.
+     * @return The events that start before the range ends and end after it starts.
+     */
+    List<EventTask> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<EventTask> events = new ArrayList<>();
+        collect(root, toSeconds(from), toSeconds(to), events);
+        return events;
+    }
+
+    private static void collect(Node node, long from, long to, List<EventTask> events) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, events);
+        if (node.start >= to) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end > from) {
+            events.add(node.event);
+        }
+        collect(node.right, from, to, events);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        int comparison = node.compareTo(root);
+        if (comparison < 0) {
+            root.left = delete(root.left, node);
+        } else if (comparison > 0) {
+            root.right = delete(root.right, node);
+        } else if (root.left == null) {
+            return root.right;
+        } else if (root.right == null) {
+            return root.left;
+        } else if (root.left.priority > root.right.priority) {
+            root = rotateRight(root);
+            root.right = delete(root.right, node);
+        } else {
+            root = rotateLeft(root);
+            root.left = delete(root.left, node);
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * A node of the tree, holding one event. Nodes are ordered by start, then by task ID.
+     */
+    private static class Node implements Comparable<Node> {
+        private final EventTask event;
+        private final long start;
+        private final long end;
+        private final int id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(EventTask event, int priority) {
+            this.event = event;
+            this.start = toSeconds(event.getStart());
+            this.end = toSeconds(event.getEnd());
+            this.id = event.getId();
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int comparison = Long.compare(start, other.start);
+            return comparison != 0 ? comparison : Integer.compare(id, other.id);
+        }
+    }
+}
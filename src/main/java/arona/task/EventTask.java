@@ -1,11 +1,17 @@
 package arona.task;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents an event task. An event task has a description, a start time, and an end time.
+ * The times are kept as typed for display, and are also read as date-times where possible, see {@link EventTime}.
  */
 public class EventTask extends Task {
     protected String from;
     protected String to;
+    private boolean isTimeParsed;
+    private LocalDateTime start;
+    private LocalDateTime end;
 
     /**
      * Constructs a new event task with the given description, start time, and end time, marked as undone by default.
@@ -52,6 +58,43 @@ public class EventTask extends Task {
         return this.to;
     }
 
+    /**
+     * Gets the start of the event as a date-time.
+     *
+     * @return The start, or null if the times of the event cannot be read as date-times.
+     */
+    public LocalDateTime getStart() {
+        parseTimes();
+        return start;
+    }
+
+    /**
+     * Gets the end of the event as a date-time. The event ends just before this instant.
+     *
+     * @return The end, or null if the times of the event cannot be read as date-times.
+     */
+    public LocalDateTime getEnd() {
+        parseTimes();
+        return end;
+    }
+
+    /**
+     * Reads the start and end from their text the first time they are needed,
+     * so that loading many events does not parse any dates.
+     */
+    private void parseTimes() {
+        if (isTimeParsed) {
+            return;
+        }
+        LocalDateTime parsedStart = EventTime.parseStart(from);
+        LocalDateTime parsedEnd = parsedStart == null ? null : EventTime.parseEnd(to, parsedStart);
+        if (parsedEnd != null) {
+            start = parsedStart;
+            end = parsedEnd;
+        }
+        isTimeParsed = true;
+    }
+
     /**
      * Returns a string representation of the event task, including its status icon, description, and time frame.
      *
@@ -0,0 +1,116 @@
+package arona.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * The `EventTime` class reads the start and end of an event from the text the user typed,
+ * such as `from: 2023-10-15 2pm` and `to: 4pm`. A date is written as `YYYY-MM-DD` and a time as
+ * `HHmm`, `HH:mm` or `h[:mm]am/pm`. An end without a date falls on the day of the start, and a
+ * date without a time covers the whole day. Text with any other words, such as `mon 2pm`, has no typed time.
+ */
+class EventTime {
+    private static final DateTimeFormatter[] TIME_FORMATS = {
+        DateTimeFormatter.ofPattern("HHmm"),
+        DateTimeFormatter.ofPattern("H:mm"),
+        new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h[:mm]a").toFormatter(Locale.ENGLISH),
+    };
+
+    /**
+     * Reads the start of an event.
+     *
+     * @param text The start as typed, with or without its `from:` label.
+     * @return The start, or null if the text does not name a date.
+     */
+    static LocalDateTime parseStart(String text) {
+        Moment moment = Moment.parse(text);
+        if (moment == null || moment.date == null) {
+            return null;
+        }
+        return moment.time == null ? moment.date.atStartOfDay() : moment.date.atTime(moment.time);
+    }
+
+    /**
+     * Reads the end of an event. An end that names only a time earlier than the start is taken to be
+     * on the next day, as for an event running overnight.
+     *
+     * @param text  The end as typed, with or without its `to:` label.
+     * @param start The start of the event.
+     * @return The end, or null if the text cannot be read or does not come after the start.
+     */
+    static LocalDateTime parseEnd(String text, LocalDateTime start) {
+        Moment moment = Moment.parse(text);
+        if (moment == null || (moment.date == null && moment.time == null)) {
+            return null;
+        }
+        LocalDateTime end;
+        if (moment.date == null) {
+            end = start.toLocalDate().atTime(moment.time);
+            if (!end.isAfter(start)) {
+                end = end.plusDays(1);
+            }
+        } else if (moment.time == null) {
+            end = moment.date.plusDays(1).atStartOfDay();
+        } else {
+            end = moment.date.atTime(moment.time);
+        }
+        return end.isAfter(start) ? end : null;
+    }
+
+    private static LocalTime parseTime(String token) {
+        for (DateTimeFormatter format : TIME_FORMATS) {
+            try {
+                return LocalTime.parse(token, format);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+
+    private static LocalDate parseDate(String token) {
+        try {
+            return LocalDate.parse(token);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A date and a time read from text, either of which may be missing.
+     */
+    private static class Moment {
+        private LocalDate date;
+        private LocalTime time;
+
+        /**
+         * Reads a date and a time from text, skipping a leading `from:` or `to:` label.
+         *
+         * @param text The text to read.
+         * @return The moment, or null if the text has a word that is neither a date nor a time.
+         */
+        static Moment parse(String text) {
+            Moment moment = new Moment();
+            for (String token : text.trim().split("\\s+")) {
+                if (token.isEmpty() || token.equalsIgnoreCase("from:") || token.equalsIgnoreCase("to:")) {
+                    continue;
+                }
+                LocalDate date = moment.date == null ? parseDate(token) : null;
+                LocalTime time = date == null && moment.time == null ? parseTime(token) : null;
+                if (date != null) {
+                    moment.date = date;
+                } else if (time != null) {
+                    moment.time = time;
+                } else {
+                    return null;
+                }
+            }
+            return moment;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package arona.task;
+
+import java.util.Arrays;
+
+/**
+ * The `RankTree` class counts which slots of a task table are filled, so that the task shown
+ * at a given position of the list can be found without walking the table.
+ * It is a Fenwick tree over one flag per slot: filling or emptying a slot, finding the slot at a position,
+ * finding the position of a slot and skipping past empty slots all take time logarithmic in the number of slots.
+ * The capacity is kept a power of two, so the tree grows by copying it and setting a single new node.
+ */
+class RankTree {
+    private int[] tree = new int[17];
+    private int capacity = 16;
+    private int size;
+
+    /**
+     * Marks a slot as filled.
+     *
+     * @param slot The slot, starting from 0.
+     */
+    void fill(int slot) {
+        while (slot >= capacity) {
+            grow();
+        }
+        update(slot, 1);
+        size++;
+    }
+
+    /**
+     * Marks a filled slot as empty.
+     *
+     * @param slot The slot, starting from 0.
+     */
+    void empty(int slot) {
+        assert slot < capacity : "Slot was never filled";
+        update(slot, -1);
+        size--;
+    }
+
+    /**
+     * Finds the filled slot at a position, counting only filled slots.
+     *
+     * @param position The position, starting from 0.
+     * @return The slot at that position.
+     */
+    int select(int position) {
+        assert position >= 0 && position < size : "Invalid position";
+        int slot = 0;
+        int remaining = position + 1;
+        for (int step = capacity; step > 0; step >>= 1) {
+            if (slot + step <= capacity && tree[slot + step] < remaining) {
+                slot += step;
+                remaining -= tree[slot];
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Counts the filled slots before a slot, which is the position of that slot if it is filled.
+     *
+     * @param slot The slot, starting from 0.
+     * @return The number of filled slots before it.
+     */
+    int rank(int slot) {
+        int count = 0;
+        for (int i = Math.min(slot, capacity); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first filled slot at or after a slot, however many empty slots lie in between.
+     *
+     * @param slot The slot to start from.
+     * @return The filled slot, or -1 if no slot from there on is filled.
+     */
+    int next(int slot) {
+        int position = rank(slot);
+        return position < size ? select(position) : -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void update(int slot, int delta) {
+        for (int i = slot + 1; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Doubles the capacity. Every new node except the last covers only new, empty slots,
+     * and the last covers all slots, so only that one needs a value.
+     */
+    private void grow() {
+        tree = Arrays.copyOf(tree, capacity * 2 + 1);
+        capacity *= 2;
+        tree[capacity] = size;
+    }
+}
@@ -0,0 +1,109 @@
+package arona.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Represents a search over task descriptions. A query is a list of groups joined by OR,
+ * where each group is a list of terms joined by AND. A term ending in `*` matches every
+ * word starting with the rest of the term. Terms are matched regardless of case.
+ */
+public class SearchQuery {
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private static final String PREFIX_WILDCARD = "*";
+
+    private List<List<String>> groups;
+    private int limit;
+
+    /**
+     * Constructs a new search query.
+     *
+     * @param groups The groups of terms, any of which may match. All terms in a group must match.
+     * @param limit  The maximum number of tasks to return, or {@link #NO_LIMIT}.
+     */
+    public SearchQuery(List<List<String>> groups, int limit) {
+        assert !groups.isEmpty() : "Query must have at least one group";
+        assert limit > 0 : "Limit must be positive";
+        this.groups = new ArrayList<>();
+        for (List<String> group : groups) {
+            assert !group.isEmpty() : "Group must have at least one term";
+            List<String> terms = new ArrayList<>();
+            for (String term : group) {
+                terms.add(fold(term));
+            }
+            this.groups.add(terms);
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * Constructs a query for a single term with no limit.
+     *
+     * @param term The term to search for.
+     */
+    public SearchQuery(String term) {
+        this(List.of(List.of(term)), NO_LIMIT);
+    }
+
+    /**
+     * Gets the groups of terms of the query, with every term case-folded.
+     *
+     * @return The groups of terms.
+     */
+    public List<List<String>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Gets the maximum number of tasks to return.
+     *
+     * @return The limit, or {@link #NO_LIMIT}.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Checks whether a term matches words by prefix.
+     *
+     * @param term A term of the query.
+     * @return True if the term ends with `*`.
+     */
+    static boolean isPrefix(String term) {
+        return term.endsWith(PREFIX_WILDCARD);
+    }
+
+    /**
+     * Gets the prefix that a prefix term matches.
+     *
+     * @param term A prefix term of the query.
+     * @return The term without its trailing `*`.
+     */
+    static String getPrefix(String term) {
+        return term.substring(0, term.length() - PREFIX_WILDCARD.length());
+    }
+
+    /**
+     * Checks whether a character separates words, using the same characters as the `\s` pattern.
+     * Both the words of a command and the words of a description are split at these characters,
+     * so that a search term is split the same way as the descriptions it is matched against.
+     *
+     * @param c The character to check.
+     * @return True if the character is whitespace.
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Folds the case of a word, so that words differing only in case compare equal.
+     *
+     * @param word The word to fold.
+     * @return The case-folded word.
+     */
+    static String fold(String word) {
+        return word.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,10 +2,16 @@ package arona.task;
 
 /**
  * Represents a task in the task list. A task has a description and can be marked as done or undone.
+ * Once stored, a task also has an ID that stays the same while other tasks are added and deleted.
  */
 public class Task {
+    /** The ID of a task that has not been given one yet. */
+    public static final int NO_ID = -1;
+
     protected String description;
     protected boolean isDone;
+    private int id = NO_ID;
+    private String displayLine;
 
     /**
      * Constructs a new task with the given description and sets it as undone by default.
@@ -55,11 +61,31 @@ public class Task {
         return this.description;
     }
 
+    /**
+     * Gets the ID of the task.
+     *
+     * @return The ID, or {@link #NO_ID} if the task has not been stored yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the task. IDs are given out in increasing order as tasks are stored, and a deleted
+     * task keeps its ID, so that restoring it puts it back in its old place.
+     *
+     * @param id The ID of the task.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Marks the task as done.
      */
     public void mark() {
         this.isDone = true;
+        this.displayLine = null;
     }
 
     /**
@@ -67,6 +93,20 @@ public class Task {
      */
     public void unMark() {
         this.isDone = false;
+        this.displayLine = null;
+    }
+
+    /**
+     * Gets the line shown for the task in a list. The line is built the first time it is needed
+     * and kept until the task is marked or unmarked, so listing the same tasks again builds no strings.
+     *
+     * @return The string representation of the task.
+     */
+    public String getDisplayLine() {
+        if (displayLine == null) {
+            displayLine = toString();
+        }
+        return displayLine;
     }
 
     /**
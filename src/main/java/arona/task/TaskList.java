@@ -1,15 +1,34 @@
 package arona.task;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 import arona.storage.Storage;
 
 /**
- * Represents a list of tasks in Arona. The task list stores tasks in an ArrayList and
- * is typically used to manage tasks throughout the application.
+ * Represents a list of tasks in Arona, used to manage tasks throughout the application.
+ * Every task in the list has an ID, and the tasks are kept in a table indexed by ID, so a task is found
+ * by ID in constant time. A deleted task leaves an empty slot behind, and restoring it fills the slot again,
+ * so no other task moves. The list shows tasks in order of ID, and a {@link RankTree} over the filled slots
+ * finds, removes or restores the task at a position in time logarithmic in the size of the list.
+ * Tasks should be added and removed through the task list, so that its indexes stay up to date.
+ * A task list is only safe to use from one thread; {@link ConcurrentTaskList} shares one between threads.
  */
-public class TaskList {
-    private ArrayList<Task> tasks;
+public class TaskList implements Iterable<Task> {
+    /** The most empty slots read one by one before a gap is skipped through the rank tree. */
+    private static final int SCANNED_SLOTS = 128;
+
+    private ArrayList<Task> tasksById = new ArrayList<>();
+    private RankTree filledSlots = new RankTree();
+    private WordIndex wordIndex;
+    private DeadlineIndex deadlineIndex;
+    private EventIndex eventIndex;
 
     /**
      * Constructs a new task list by loading tasks from the provided storage.
@@ -17,22 +36,326 @@ public class TaskList {
      * @param storage The storage object responsible for loading tasks into the list.
      */
     public TaskList(Storage storage) {
-        this.tasks = new ArrayList<>();
-        storage.loadTasks(this.tasks);
+        ArrayList<Task> tasks = new ArrayList<>();
+        storage.loadTasks(tasks);
+        for (Task task : tasks) {
+            add(task);
+        }
     }
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
     }
+
+    /**
+     * Constructs a task list holding the given tasks. Tasks without an ID are given the next free one.
+     *
+     * @param tasks The tasks in the list.
+     */
+    public TaskList(List<? extends Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Runs an action that only reads the list and its tasks.
+     * A plain task list runs it straight away; a {@link ConcurrentTaskList} lets reads run alongside each other.
+     *
+     * @param action The action to run.
+     * @param <T>    The type of the result.
+     * @return The result of the action.
+     */
+    public <T> T read(Supplier<T> action) {
+        return action.get();
+    }
+
+    /**
+     * Runs an action that may change the list or its tasks.
+     * A plain task list runs it straight away; a {@link ConcurrentTaskList} runs it on its own,
+     * so that the whole action takes effect at once for every other thread.
+     *
+     * @param action The action to run.
+     * @param <T>    The type of the result.
+     * @return The result of the action.
+     */
+    public <T> T write(Supplier<T> action) {
+        return action.get();
+    }
+
+    /**
+     * Gets the number of tasks in the list.
+     *
+     * @return The number of tasks.
+     */
+    public int size() {
+        return filledSlots.size();
+    }
+
+    /**
+     * Gets the task at the given position of the list.
+     *
+     * @param index The position of the task, starting from 0.
+     * @return The task at that position.
+     * @throws IndexOutOfBoundsException If there is no task at that position.
+     */
+    public Task get(int index) {
+        Objects.checkIndex(index, size());
+        return tasksById.get(filledSlots.select(index));
+    }
+
     /**
-     * Retrieves the ArrayList of tasks stored in the task list.
+     * Gets the tasks at a range of positions of the list.
+     * The first task is found through the rank tree, and the rest by walking the table from there,
+     * skipping each gap left by deleted tasks through the rank tree, so the cost depends on the length
+     * of the range rather than the size of the list or the number of deleted tasks.
      *
-     * @return An ArrayList of tasks.
+     * @param from The position of the first task, starting from 0.
+     * @param to   The position after the last task.
+     * @return The tasks in the range, in list order.
+     * @throws IndexOutOfBoundsException If the range is not within the list.
      */
-    public ArrayList<Task> getTasks() {
+    public List<Task> getRange(int from, int to) {
+        Objects.checkFromToIndex(from, to, size());
+        List<Task> tasks = new ArrayList<>(to - from);
+        if (from == to) {
+            return tasks;
+        }
+        int id = filledSlots.select(from);
+        while (tasks.size() < to - from) {
+            tasks.add(tasksById.get(id));
+            id = findFilledSlot(id + 1);
+        }
         return tasks;
     }
+
+    /**
+     * Gets the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or null if there is no such task or it has been deleted.
+     */
+    public Task getById(int id) {
+        return id >= 0 && id < tasksById.size() ? tasksById.get(id) : null;
+    }
+
+    /**
+     * Returns an iterator over the tasks in the list, in the order they are shown to the user.
+     *
+     * @return An iterator over the tasks.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int nextId = findFilledSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return nextId < tasksById.size();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = tasksById.get(nextId);
+                nextId = findFilledSlot(nextId + 1);
+                return task;
+            }
+        };
+    }
+
+    /**
+     * Adds a task to the end of the list, giving it the next free ID if it has none.
+     *
+     * @param task The task to add.
+     */
+    public void add(Task task) {
+        if (task.getId() == Task.NO_ID) {
+            task.setId(tasksById.size());
+        }
+        put(task);
+    }
+
+    /**
+     * Puts a deleted task back in its old place in the list.
+     *
+     * @param task The deleted task, which still has its ID.
+     */
+    public void restore(Task task) {
+        assert task.getId() >= 0 : "Task has no ID";
+        put(task);
+    }
+
+    /**
+     * Removes the task at the given position of the list, leaving its slot empty so that it can be restored.
+     *
+     * @param index The position of the task, starting from 0.
+     * @return The removed task.
+     * @throws IndexOutOfBoundsException If there is no task at that position.
+     */
+    public Task remove(int index) {
+        Task task = get(index);
+        delete(task);
+        return task;
+    }
+
+    /**
+     * Deletes a task from the list, leaving its slot empty so that it can be restored.
+     *
+     * @param task The task to delete.
+     * @return {@code true} if the task was in the list.
+     */
+    public boolean delete(Task task) {
+        if (getById(task.getId()) != task) {
+            return false;
+        }
+        tasksById.set(task.getId(), null);
+        filledSlots.empty(task.getId());
+        if (wordIndex != null) {
+            wordIndex.remove(task);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.remove(task);
+        }
+        if (eventIndex != null) {
+            eventIndex.remove(task);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the tasks matching the given query.
+     * The word index is built on the first search and kept up to date afterwards.
+     *
+     * @param query The query to match against task descriptions.
+     * @return The matching tasks, in list order.
+     */
+    public List<Task> find(SearchQuery query) {
+        if (wordIndex == null) {
+            wordIndex = new WordIndex(this);
+        }
+        return wordIndex.find(query);
+    }
+
+    /**
+     * Finds the deadlines due between two dates, inclusive.
+     * The deadline index is built on the first query and kept up to date afterwards.
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range.
+     * @return The deadlines in the range, sorted by date.
+     */
+    public List<DeadlineTask> findDueBetween(LocalDate from, LocalDate to) {
+        return getDeadlineIndex().findBetween(from, to);
+    }
+
+    /**
+     * Finds the deadlines that are not done and were due before the given date.
+     *
+     * @param today The current date.
+     * @return The overdue deadlines, sorted by date.
+     */
+    public List<DeadlineTask> findOverdue(LocalDate today) {
+        List<DeadlineTask> overdue = getDeadlineIndex().findBefore(today);
+        overdue.removeIf(Task::getIsDone);
+        return overdue;
+    }
+
+    /**
+     * Finds the events with typed times that overlap a range of time.
+     * The event index is built on the first query and kept up to date afterwards.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range, which is not included in it.
+     * @return The overlapping events, sorted by start.
+     */
+    public List<EventTask> findEventsBetween(LocalDateTime from, LocalDateTime to) {
+        return getEventIndex().findOverlapping(from, to);
+    }
+
+    /**
+     * Finds the other events whose times overlap those of the given event.
+     *
+     * @param event The event to check.
+     * @return The clashing events, sorted by start, or an empty list if the event has no typed times.
+     */
+    public List<EventTask> findClashes(EventTask event) {
+        if (event.getStart() == null) {
+            return new ArrayList<>();
+        }
+        List<EventTask> clashes = getEventIndex().findOverlapping(event.getStart(), event.getEnd());
+        clashes.removeIf(other -> other == event);
+        return clashes;
+    }
+
+    /**
+     * Builds the word, deadline and event indexes now instead of on the first query, so that queries
+     * only ever read the list.
+     */
+    void buildIndexes() {
+        if (wordIndex == null) {
+            wordIndex = new WordIndex(this);
+        }
+        getDeadlineIndex();
+        getEventIndex();
+    }
+
+    private void put(Task task) {
+        int id = task.getId();
+        while (tasksById.size() <= id) {
+            tasksById.add(null);
+        }
+        assert tasksById.get(id) == null : "Task ID is already taken";
+        tasksById.set(id, task);
+        filledSlots.fill(id);
+        if (wordIndex != null) {
+            wordIndex.add(task);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.add(task);
+        }
+        if (eventIndex != null) {
+            eventIndex.add(task);
+        }
+    }
+
+    /**
+     * Finds the first filled slot at or after the given one. The next few slots are read directly,
+     * which is cheapest for short gaps, and a longer gap is skipped through the rank tree, so crossing
+     * a gap never costs more than a few slots plus a search of the tree.
+     *
+     * @param from The slot to start from.
+     * @return The filled slot, or the size of the table if no slot from there on is filled.
+     */
+    private int findFilledSlot(int from) {
+        int scanEnd = Math.min(tasksById.size(), from + SCANNED_SLOTS);
+        for (int id = from; id < scanEnd; id++) {
+            if (tasksById.get(id) != null) {
+                return id;
+            }
+        }
+        if (scanEnd == tasksById.size()) {
+            return scanEnd;
+        }
+        int slot = filledSlots.next(scanEnd);
+        return slot < 0 ? tasksById.size() : slot;
+    }
+
+    private DeadlineIndex getDeadlineIndex() {
+        if (deadlineIndex == null) {
+            deadlineIndex = new DeadlineIndex(this);
+        }
+        return deadlineIndex;
+    }
+
+    private EventIndex getEventIndex() {
+        if (eventIndex == null) {
+            eventIndex = new EventIndex(this);
+        }
+        return eventIndex;
+    }
 }
@@ -0,0 +1,126 @@
+package arona.task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a selection of tasks for a command that changes many tasks at once.
+ * A selection is a range of positions in the list, narrowed down by whether the tasks are done
+ * and by a search over their descriptions. Every part is optional, and a selection with no parts
+ * selects the whole list.
+ */
+public class TaskSelector {
+    /** The end of a range that runs to the end of the list. */
+    public static final int TO_END = Integer.MAX_VALUE;
+
+    /**
+     * The statuses a selection can be narrowed down to.
+     */
+    public enum Status {
+        ANY, DONE, NOT_DONE
+    }
+
+    private int from;
+    private int to;
+    private Status status;
+    private SearchQuery query;
+
+    /**
+     * Constructs a new selection.
+     *
+     * @param from   The position of the first task in the range, starting from 0.
+     * @param to     The position after the last task in the range, or {@link #TO_END}.
+     * @param status The status the selected tasks must have.
+     * @param query  The query the selected tasks must match, or null to select tasks regardless of description.
+     */
+    public TaskSelector(int from, int to, Status status, SearchQuery query) {
+        assert from >= 0 && from < to : "Range must hold at least one position";
+        this.from = from;
+        this.to = to;
+        this.status = status;
+        this.query = query;
+    }
+
+    /**
+     * Gets the position of the first task in the range.
+     *
+     * @return The position, starting from 0.
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the position after the last task in the range.
+     *
+     * @return The position, or {@link #TO_END}.
+     */
+    public int getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the status the selected tasks must have.
+     *
+     * @return The status.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the query the selected tasks must match.
+     *
+     * @return The query, or null if the description does not matter.
+     */
+    public SearchQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Selects the tasks in a single pass over the list. A selection over the whole list with a query
+     * only visits the tasks found through the word index; otherwise the range is walked once.
+     *
+     * @param taskList The list to select tasks from.
+     * @return The selected tasks, in list order.
+     * @throws IndexOutOfBoundsException If the range is not within the list.
+     */
+    public List<Task> select(TaskList taskList) {
+        int end = to == TO_END ? taskList.size() : to;
+        if (from >= end) {
+            throw new IndexOutOfBoundsException("Range " + (from + 1) + "-" + end + " is not within the list");
+        }
+
+        List<Task> candidates;
+        Set<Task> matches = null;
+        if (query == null) {
+            candidates = taskList.getRange(from, end);
+        } else if (from == 0 && end == taskList.size()) {
+            candidates = taskList.find(query);
+        } else {
+            candidates = taskList.getRange(from, end);
+            matches = new HashSet<>(taskList.find(query));
+        }
+
+        List<Task> selected = new ArrayList<>();
+        for (Task task : candidates) {
+            if ((matches == null || matches.contains(task)) && hasStatus(task)) {
+                selected.add(task);
+            }
+        }
+        return selected;
+    }
+
+    private boolean hasStatus(Task task) {
+        switch (status) {
+        case DONE:
+            return task.getIsDone();
+        case NOT_DONE:
+            return !task.getIsDone();
+        default:
+            return true;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package arona.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * The `WordIndex` class maps each case-folded word of a task description to the tasks containing it.
+ * The tasks for a word are keyed by task ID, which grows with position in the list, so they are kept
+ * in list order, and a search walks them in step, reading only as many hits as it returns and skips over.
+ * Words are kept sorted, so the words sharing a prefix are found by a range scan of the dictionary.
+ */
+class WordIndex {
+    private TreeMap<String, TreeMap<Integer, Task>> postings = new TreeMap<>();
+
+    /**
+     * Builds an index over the given tasks.
+     *
+     * @param tasks The tasks to index, in list order.
+     */
+    WordIndex(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task.
+     *
+     * @param task The added task.
+     */
+    void add(Task task) {
+        for (String word : words(task.getDescription())) {
+            postings.computeIfAbsent(word, w -> new TreeMap<>()).put(task.getId(), task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The removed task.
+     */
+    void remove(Task task) {
+        for (String word : words(task.getDescription())) {
+            TreeMap<Integer, Task> hits = postings.get(word);
+            if (hits != null) {
+                hits.remove(task.getId());
+                if (hits.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks matching the given query, in list order.
+     * The hits of the terms are merged lazily in ID order, so the search stops as soon as the limit is reached.
+     *
+     * @param query The query to match.
+     * @return The matching tasks, at most as many as the limit of the query.
+     */
+    List<Task> find(SearchQuery query) {
+        List<Cursor> groups = new ArrayList<>();
+        for (List<String> group : query.getGroups()) {
+            Cursor hits = matchAll(group);
+            if (hits != null) {
+                groups.add(hits);
+            }
+        }
+        Cursor hits = new UnionCursor(groups);
+        List<Task> tasks = new ArrayList<>();
+        Map.Entry<Integer, Task> hit;
+        while (tasks.size() < query.getLimit() && (hit = hits.seek(nextId(tasks))) != null) {
+            tasks.add(hit.getValue());
+        }
+        return tasks;
+    }
+
+    private static int nextId(List<Task> tasks) {
+        return tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId() + 1;
+    }
+
+    /**
+     * Returns the tasks matching every one of the given terms, or null if a term matches nothing.
+     * The term with the fewest hits leads the intersection, so a rare term keeps the work small.
+     */
+    private Cursor matchAll(List<String> terms) {
+        List<List<TreeMap<Integer, Task>>> termHits = new ArrayList<>();
+        for (String term : terms) {
+            List<TreeMap<Integer, Task>> hits = match(term);
+            if (hits.isEmpty()) {
+                return null;
+            }
+            termHits.add(hits);
+        }
+        termHits.sort(Comparator.comparingInt(hits -> hits.stream().mapToInt(Map::size).sum()));
+        List<Cursor> cursors = new ArrayList<>();
+        for (List<TreeMap<Integer, Task>> hits : termHits) {
+            if (hits.size() == 1) {
+                cursors.add(hits.get(0)::ceilingEntry);
+            } else {
+                List<Cursor> words = new ArrayList<>();
+                for (TreeMap<Integer, Task> wordHits : hits) {
+                    words.add(wordHits::ceilingEntry);
+                }
+                cursors.add(new UnionCursor(words));
+            }
+        }
+        return cursors.size() == 1 ? cursors.get(0) : new IntersectionCursor(cursors);
+    }
+
+    /**
+     * Returns the hits of every word matching a term, without copying them.
+     */
+    private List<TreeMap<Integer, Task>> match(String term) {
+        if (!SearchQuery.isPrefix(term)) {
+            TreeMap<Integer, Task> hits = postings.get(term);
+            return hits == null ? List.of() : List.of(hits);
+        }
+        String prefix = SearchQuery.getPrefix(term);
+        List<TreeMap<Integer, Task>> hits = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<Integer, Task>> entry : postings.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            hits.add(entry.getValue());
+        }
+        return hits;
+    }
+
+    /**
+     * Walks a set of hits in increasing ID order. Each call must ask for an ID no lower than the call before it.
+     */
+    private interface Cursor {
+        /**
+         * Finds the first hit at or after the given ID.
+         *
+         * @param from The lowest ID to return.
+         * @return The hit, or null if there are no more.
+         */
+        Map.Entry<Integer, Task> seek(int from);
+    }
+
+    /**
+     * Walks the hits found by any of several cursors, keeping the next hit of each in a heap.
+     */
+    private static class UnionCursor implements Cursor {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingInt(head -> head.id));
+
+        UnionCursor(List<Cursor> cursors) {
+            for (Cursor cursor : cursors) {
+                Map.Entry<Integer, Task> hit = cursor.seek(0);
+                if (hit != null) {
+                    heads.add(new Head(hit, cursor));
+                }
+            }
+        }
+
+        @Override
+        public Map.Entry<Integer, Task> seek(int from) {
+            while (!heads.isEmpty() && heads.peek().id < from) {
+                Head head = heads.poll();
+                Map.Entry<Integer, Task> hit = head.cursor.seek(from);
+                if (hit != null) {
+                    heads.add(new Head(hit, head.cursor));
+                }
+            }
+            return heads.isEmpty() ? null : heads.peek().hit;
+        }
+    }
+
+    /**
+     * The next hit of a cursor taking part in a union.
+     */
+    private static class Head {
+        private final Map.Entry<Integer, Task> hit;
+        private final int id;
+        private final Cursor cursor;
+
+        Head(Map.Entry<Integer, Task> hit, Cursor cursor) {
+            this.hit = hit;
+            this.id = hit.getKey();
+            this.cursor = cursor;
+        }
+    }
+
+    /**
+     * Walks the hits found by all of several cursors, moving each cursor past the IDs the others have ruled out.
+     */
+    private static class IntersectionCursor implements Cursor {
+        private final List<Cursor> cursors;
+
+        IntersectionCursor(List<Cursor> cursors) {
+            this.cursors = cursors;
+        }
+
+        @Override
+        public Map.Entry<Integer, Task> seek(int from) {
+            int candidate = from;
+            int agreeing = 0;
+            Map.Entry<Integer, Task> hit = null;
+            for (int i = 0; agreeing < cursors.size(); i = (i + 1) % cursors.size()) {
+                hit = cursors.get(i).seek(candidate);
+                if (hit == null) {
+                    return null;
+                }
+                if (hit.getKey() == candidate) {
+                    agreeing++;
+                } else {
+                    candidate = hit.getKey();
+                    agreeing = 1;
+                }
+            }
+            return hit;
+        }
+    }
+
+    /**
+     * Splits a description into case-folded words at runs of whitespace, matching {@code split("\\s+")}
+     * without compiling a pattern.
+     *
+     * @param description The description to split.
+     * @return The non-empty words of the description.
+     */
+    static List<String> words(String description) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= description.length(); i++) {
+            boolean isSeparator = i == description.length() || SearchQuery.isWhitespace(description.charAt(i));
+            if (isSeparator && start >= 0) {
+                words.add(SearchQuery.fold(description.substring(start, i)));
+                start = -1;
+            } else if (!isSeparator && start < 0) {
+                start = i;
+            }
+        }
+        return words;
+    }
+}
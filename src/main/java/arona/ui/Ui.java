@@ -1,7 +1,8 @@
 package arona.ui;
 
-import java.util.ArrayList;
+import java.util.List;
 
+import arona.task.EventTask;
 import arona.task.Task;
 import arona.task.TaskList;
 
@@ -11,21 +12,54 @@ import arona.task.TaskList;
 public class Ui {
 
     /**
-     * Returns the list of tasks as a formatted string.
+     * Returns the greeting shown when Arona starts.
      *
-     * @param tasks The list of tasks to display.
-     * @return A formatted string representing the list of tasks.
+     * @return A string greeting the user.
      */
-    public static String showTaskList(TaskList tasks) {
-        if (tasks.getTasks().isEmpty()) {
+    public static String showGreeting() {
+        return "Hello! I'm Arona, your Virtual Assistant.\n"
+                + "What can I do for you today?\n";
+    }
+
+    /**
+     * Returns the message shown when Arona exits.
+     *
+     * @return A string saying goodbye to the user.
+     */
+    public static String showGoodbye() {
+        return "Goodbye. See you soon!\n";
+    }
+
+    /**
+     * Returns a page of the list of tasks as a formatted string.
+     * Only the tasks on the page are rendered, so the cost depends on the page size rather than the size of the list.
+     *
+     * @param tasks    The list of tasks to display.
+     * @param page     The page to display, starting from 1.
+     * @param pageSize The number of tasks on each page.
+     * @return A formatted string representing the page of tasks.
+     */
+    public static String showTaskList(TaskList tasks, int page, int pageSize) {
+        assert page > 0 && pageSize > 0 : "Page and page size must be positive";
+        if (tasks.size() == 0) {
             return "Great job! No tasks right now, enjoy your day!\n";
-        } else {
-            StringBuilder message = new StringBuilder("Hello! Here is your list of tasks:\n");
-            for (int i = 0; i < tasks.getTasks().size(); i++) {
-                message.append((i + 1)).append(". ").append(tasks.getTasks().get(i)).append("\n");
-            }
-            return message.toString();
         }
+        int pageCount = (tasks.size() - 1) / pageSize + 1;
+        if (page > pageCount) {
+            return "Hmm... There " + (pageCount == 1 ? "is only 1 page" : "are only " + pageCount + " pages")
+                    + " of tasks.\n";
+        }
+        int from = (page - 1) * pageSize;
+        int to = Math.min(tasks.size(), from + pageSize);
+        StringBuilder message = new StringBuilder("Hello! Here is your list of tasks:\n");
+        appendNumbered(message, tasks.getRange(from, to), from + 1);
+        if (page < pageCount) {
+            message.append("Page ").append(page).append(" of ").append(pageCount)
+                    .append(". Type 'list ").append(page + 1).append("' for more.\n");
+        } else if (pageCount > 1) {
+            message.append("Page ").append(page).append(" of ").append(pageCount).append(".\n");
+        }
+        return message.toString();
     }
 
     /**
@@ -75,6 +109,48 @@ public class Ui {
     public static String showTaskUnmarked(Task task) {
         return "Sure thing! I've marked this task as not done yet:\n" + "  " + task + "\n";
     }
+    /**
+     * Returns a message confirming the removal of several tasks.
+     *
+     * @param removedTasks The number of tasks that were removed.
+     * @param totalTasks   The total number of tasks after removal.
+     * @return A formatted string confirming the removal of the tasks.
+     */
+    public static String showTasksRemoved(int removedTasks, int totalTasks) {
+        return "Sure thing! I've removed " + removedTasks + " tasks.\n"
+                + "Now you have " + totalTasks + (totalTasks <= 1 ? " task" : " tasks")
+                + " in the list.\n";
+    }
+
+    /**
+     * Returns a message confirming that several tasks have been marked as done.
+     *
+     * @param markedTasks The number of tasks that were marked as done.
+     * @return A formatted string confirming the tasks as done.
+     */
+    public static String showTasksMarkedAsDone(int markedTasks) {
+        return "Awesome! I've marked " + markedTasks + " tasks as done.\n";
+    }
+
+    /**
+     * Returns a message confirming that several tasks have been marked as not done yet.
+     *
+     * @param unmarkedTasks The number of tasks that were marked as not done yet.
+     * @return A formatted string confirming the tasks as not done yet.
+     */
+    public static String showTasksUnmarked(int unmarkedTasks) {
+        return "Sure thing! I've marked " + unmarkedTasks + " tasks as not done yet.\n";
+    }
+
+    /**
+     * Returns a message indicating that none of the selected tasks needed changing.
+     *
+     * @return A string indicating that nothing was changed.
+     */
+    public static String showNoTasksSelected() {
+        return "Hmm... None of the tasks you picked needed changing.\n";
+    }
+
     /**
      * Returns an error message when a specified task does not exist.
      *
@@ -106,22 +182,96 @@ public class Ui {
     /**
      * Returns the search results as a formatted string.
      *
-     * @param result The TaskList containing the matching tasks.
+     * @param tasks The matching tasks.
      * @return A formatted string representing the search results.
      */
-    public static String showSearchResult(TaskList result) {
-        if (result.getTasks().isEmpty()) {
+    public static String showSearchResult(List<? extends Task> tasks) {
+        if (tasks.isEmpty()) {
             return "Ehhh... There are no matching tasks.\n";
         } else {
             StringBuilder message = new StringBuilder("Yay! Here are your matching tasks:\n");
-            ArrayList<Task> tasks = result.getTasks();
-            for (int i = 0; i < tasks.size(); i++) {
-                message.append((i + 1)).append(". ").append(tasks.get(i)).append("\n");
-            }
+            appendNumbered(message, tasks, 1);
+            return message.toString();
+        }
+    }
+
+    /**
+     * Returns the deadlines due in a range of dates as a formatted string.
+     *
+     * @param tasks The deadlines in the range.
+     * @return A formatted string representing the deadlines.
+     */
+    public static String showDueTasks(List<? extends Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "Yay! Nothing is due in that period.\n";
+        } else {
+            StringBuilder message = new StringBuilder("Here are the deadlines in that period:\n");
+            appendNumbered(message, tasks, 1);
+            return message.toString();
+        }
+    }
+
+    /**
+     * Returns the overdue deadlines as a formatted string.
+     *
+     * @param tasks The overdue deadlines.
+     * @return A formatted string representing the overdue deadlines.
+     */
+    public static String showOverdueTasks(List<? extends Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "Great job! Nothing is overdue.\n";
+        } else {
+            StringBuilder message = new StringBuilder("Uh-oh! These deadlines have passed:\n");
+            appendNumbered(message, tasks, 1);
+            return message.toString();
+        }
+    }
+
+    /**
+     * Returns the events in a range of dates as a formatted string.
+     *
+     * @param tasks The events in the range.
+     * @return A formatted string representing the events.
+     */
+    public static String showEventsBetween(List<? extends Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "Yay! There are no events in that period.\n";
+        } else {
+            StringBuilder message = new StringBuilder("Here are the events in that period:\n");
+            appendNumbered(message, tasks, 1);
+            return message.toString();
+        }
+    }
+
+    /**
+     * Returns the events that clash with an event as a formatted string.
+     *
+     * @param event  The event that was checked.
+     * @param tasks  The clashing events.
+     * @return A formatted string representing the clashing events.
+     */
+    public static String showClashes(EventTask event, List<? extends Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "Great! Nothing clashes with this event:\n" + "  " + event + "\n";
+        } else {
+            StringBuilder message = new StringBuilder("Oh no! This event:\n")
+                    .append("  ").append(event).append("\n")
+                    .append("clashes with:\n");
+            appendNumbered(message, tasks, 1);
             return message.toString();
         }
     }
 
+    /**
+     * Returns a message indicating that the times of a task cannot be compared with other events.
+     *
+     * @return A string indicating that the task is not an event with known times.
+     */
+    public static String showEventTimesUnknown() {
+        return "Hmm... I can't tell when that happens. "
+                + "Only events with dates like 2023-10-15 and times like 2pm can be checked.\n";
+    }
+
     /**
      * Returns a message indicating that there is no valid command to undo.
      *
@@ -131,6 +281,15 @@ public class Ui {
         return "Hmm... There is no valid command I can undo.\n";
     }
 
+    /**
+     * Returns a message indicating that there is no undone command to redo.
+     *
+     * @return A string indicating that there is nothing to redo.
+     */
+    public static String showCannotRedo() {
+        return "Hmm... There is no undone command I can redo.\n";
+    }
+
     /**
      * Returns a message indicating that a delete command has been undone.
      *
@@ -163,32 +322,111 @@ public class Ui {
     }
 
     /**
-     * Returns a message indicating that a to-do command has been undone.
+     * Returns a message indicating that deleting several tasks has been undone.
      *
-     * @return A string indicating the success of undoing a to-do command.
+     * @param restoredTasks The number of tasks that were added back.
+     * @return A string indicating the success of undoing a delete command.
      */
-    public static String showUndoToDoCommand(Task task) {
-        return "Okay... I've deleted the recently added task:\n"
-                + "    " + task;
+    public static String showUndoBulkDeleteCommand(int restoredTasks) {
+        return "Okay... I've re-added back " + restoredTasks + " tasks.\n";
     }
 
     /**
-     * Returns a message indicating that an event command has been undone.
+     * Returns a message indicating that marking several tasks has been undone.
      *
-     * @return A string indicating the success of undoing an event command.
+     * @param updatedTasks The number of tasks that are not done again.
+     * @return A string indicating the success of undoing a mark command.
      */
-    public static String showUndoEventCommand(Task task) {
-        return "Okay... I've deleted the recently added task.\n"
-                + "    " + task;
+    public static String showUndoBulkMarkCommand(int updatedTasks) {
+        return "Okay... I've re-updated " + updatedTasks + " tasks to be not done.\n";
     }
 
     /**
-     * Returns a message indicating that a deadline command has been undone.
+     * Returns a message indicating that unmarking several tasks has been undone.
      *
-     * @return A string indicating the success of undoing a deadline command.
+     * @param updatedTasks The number of tasks that are done again.
+     * @return A string indicating the success of undoing an unmark command.
      */
-    public static String showUndoDeadlineCommand(Task task) {
+    public static String showUndoBulkUnmarkCommand(int updatedTasks) {
+        return "Okay... I've re-updated " + updatedTasks + " tasks to be done.\n";
+    }
+
+    /**
+     * Returns a message indicating that adding a task has been undone.
+     *
+     * @param task The task that was deleted again.
+     * @return A string indicating the success of undoing an add command.
+     */
+    public static String showUndoAddCommand(Task task) {
         return "Okay... I've deleted the recently added task:\n"
                 + "    " + task;
     }
+
+    /**
+     * Returns a message confirming that tasks were imported from a file.
+     *
+     * @param importedTasks The number of tasks that were imported.
+     * @param totalTasks    The total number of tasks after importing.
+     * @return A formatted string confirming the import.
+     */
+    public static String showTasksImported(int importedTasks, int totalTasks) {
+        return "Got it! I've imported " + importedTasks + (importedTasks == 1 ? " task" : " tasks") + ".\n"
+                + "Now you have " + totalTasks + (totalTasks <= 1 ? " task" : " tasks")
+                + " in the list.\n";
+    }
+
+    /**
+     * Returns a message indicating that a file to import holds no tasks.
+     *
+     * @return A string indicating that there was nothing to import.
+     */
+    public static String showNothingToImport() {
+        return "Hmm... There are no tasks in that file for me to import.\n";
+    }
+
+    /**
+     * Returns an error message when a line of a file to import is not a valid task.
+     *
+     * @param lineNumber The number of the invalid line, counting from 1.
+     * @param e          The exception describing what is wrong with the line.
+     * @return An error message indicating that nothing was imported.
+     */
+    public static String showImportLineInvalid(int lineNumber, Exception e) {
+        return "Ehh... Line " + lineNumber + " of the file is not a valid task, so I didn't import anything.\n"
+                + e.getMessage() + "\n";
+    }
+
+    /**
+     * Returns an error message when a file to import cannot be read.
+     *
+     * @param filePath The path of the file.
+     * @return An error message indicating the file cannot be read.
+     */
+    public static String showImportFileUnreadable(String filePath) {
+        return "Sorry... I can't read the file " + filePath + ". Please check that it exists!\n";
+    }
+
+    /**
+     * Returns a message indicating that importing tasks has been undone.
+     *
+     * @param importedTasks The number of tasks that were deleted again.
+     * @return A string indicating the success of undoing an import command.
+     */
+    public static String showUndoImportCommand(int importedTasks) {
+        return "Okay... I've deleted the " + importedTasks + " recently imported tasks.\n";
+    }
+
+    /**
+     * Appends one numbered line for each task.
+     *
+     * @param message     The message to append to.
+     * @param tasks       The tasks to append.
+     * @param firstNumber The number of the first task.
+     */
+    private static void appendNumbered(StringBuilder message, List<? extends Task> tasks, int firstNumber) {
+        int number = firstNumber;
+        for (Task task : tasks) {
+            message.append(number++).append(". ").append(task.getDisplayLine()).append("\n");
+        }
+    }
 }
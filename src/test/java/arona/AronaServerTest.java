@@ -0,0 +1,62 @@
+package arona;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the AronaServer class, sending requests to a server on a free port.
+ */
+public class AronaServerTest {
+
+    private static HttpResponse<String> post(String address, String body, String origin)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(address))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (origin != null) {
+            request.header("Origin", origin);
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Tests that posted commands are run in order, that sessions undo only their own changes,
+     * and that requests from web pages on other sites are refused.
+     */
+    @Test
+    public void commandRoundTripTest(@TempDir Path tempDir) throws IOException, InterruptedException {
+        AronaServer server = new AronaServer(new Arona(tempDir.resolve("arona.txt").toString()), 0, 2);
+        server.start();
+        String address = "http://localhost:" + server.getPort() + "/command";
+        try {
+            HttpResponse<String> response = post(address, "todo read book\ntodo write essay\nlist", null);
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("1. [T][ ] read book"));
+            assertTrue(response.body().contains("2. [T][ ] write essay"));
+
+            post(address + "?session=other", "todo buy milk", null);
+            post(address, "undo", null);
+            String list = post(address + "?session=other", "list", null).body();
+            assertTrue(list.contains("read book"));
+            assertTrue(list.contains("buy milk"));
+            assertFalse(list.contains("write essay"));
+
+            assertEquals(403, post(address, "delete all", "http://example.com").statusCode());
+            HttpResponse<String> local = post(address, "list", "http://localhost:" + server.getPort());
+            assertEquals(200, local.statusCode());
+            assertTrue(local.body().contains("read book"));
+        } finally {
+            server.stop();
+        }
+    }
+}
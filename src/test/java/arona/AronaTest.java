@@ -0,0 +1,41 @@
+package arona;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the Arona class, running commands as they are read without the GUI.
+ */
+public class AronaTest {
+
+    /**
+     * Tests that a file is imported from a path with upper-case letters, which keep their case
+     * while the command word and the imported tasks are read in any case.
+     */
+    @Test
+    public void importMixedCasePathTest(@TempDir Path tempDir) throws IOException {
+        Path importPath = tempDir.resolve("Data").resolve("Import.txt");
+        Files.createDirectories(importPath.getParent());
+        Files.write(importPath, List.of("todo Read Book", "deadline Submit Essay /BY 2023-09-15"));
+        Arona arona = new Arona(tempDir.resolve("arona.txt").toString());
+        StringWriter out = new StringWriter();
+
+        arona.run(new BufferedReader(new StringReader("IMPORT " + importPath + "\nlist\nBYE\n")), new PrintWriter(out));
+        arona.close();
+        assertFalse(out.toString().contains("can't read"));
+        assertTrue(out.toString().contains("1. [T][ ] read book"));
+        assertTrue(out.toString().contains("2. [D][ ] submit essay"));
+    }
+}
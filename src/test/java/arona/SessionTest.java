@@ -0,0 +1,94 @@
+package arona;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import arona.commands.CommandContext;
+import arona.commands.CommandRegistry;
+import arona.commands.UndoLog;
+import arona.storage.Storage;
+import arona.task.ConcurrentTaskList;
+import arona.ui.Ui;
+
+/**
+ * Unit tests for the Session class, running commands as the front-ends enter them.
+ */
+public class SessionTest {
+
+    private static Session openSession(Path tempDir) {
+        Storage storage = new Storage(tempDir.resolve("arona.txt").toString());
+        return new Session(CommandRegistry.createDefault(), new CommandContext(new ConcurrentTaskList(storage),
+                new Ui(), storage, new UndoLog(UndoLog.DEFAULT_CAPACITY)));
+    }
+
+    /**
+     * Tests that a search with OR finds tasks matching either side, although the input is lowercased.
+     */
+    @Test
+    public void findOrTest(@TempDir Path tempDir) {
+        Session session = openSession(tempDir);
+        session.getResponse("todo read book");
+        session.getResponse("todo write essay");
+        session.getResponse("todo buy milk");
+
+        String reply = session.getResponse("find book or essay");
+        assertTrue(reply.contains("read book"));
+        assertTrue(reply.contains("write essay"));
+        assertFalse(reply.contains("buy milk"));
+    }
+
+    /**
+     * Tests that a selection searching with OR marks and deletes the tasks matching either side, and no others.
+     */
+    @Test
+    public void selectionOrTest(@TempDir Path tempDir) {
+        Session session = openSession(tempDir);
+        session.getResponse("todo read book");
+        session.getResponse("todo write essay");
+        session.getResponse("todo buy milk");
+
+        session.getResponse("mark find:book or essay");
+        String list = session.getResponse("list");
+        assertTrue(list.contains("[T][X] read book"));
+        assertTrue(list.contains("[T][X] write essay"));
+        assertTrue(list.contains("[T][ ] buy milk"));
+
+        session.getResponse("delete find:book or essay");
+        list = session.getResponse("list");
+        assertFalse(list.contains("read book"));
+        assertFalse(list.contains("write essay"));
+        assertTrue(list.contains("buy milk"));
+    }
+
+    /**
+     * Tests that a list is shown one page at a time, with a footer pointing to the next page.
+     */
+    @Test
+    public void listPageTest(@TempDir Path tempDir) {
+        Session session = openSession(tempDir);
+        for (int i = 1; i <= 5; i++) {
+            session.getResponse("todo task " + i);
+        }
+
+        String firstPage = session.getResponse("list 1 2");
+        assertTrue(firstPage.contains("1. [T][ ] task 1"));
+        assertTrue(firstPage.contains("2. [T][ ] task 2"));
+        assertFalse(firstPage.contains("task 3"));
+        assertTrue(firstPage.contains("Page 1 of 3. Type 'list 2' for more."));
+
+        String secondPage = session.getResponse("list 2 2");
+        assertTrue(secondPage.contains("3. [T][ ] task 3"));
+        assertTrue(secondPage.contains("4. [T][ ] task 4"));
+        assertFalse(secondPage.contains("task 2"));
+        assertTrue(secondPage.contains("Page 2 of 3."));
+
+        session.getResponse("mark 3");
+        assertTrue(session.getResponse("list 2 2").contains("3. [T][X] task 3"));
+        assertTrue(session.getResponse("list 4 2").contains("only 3 pages"));
+    }
+}
@@ -0,0 +1,50 @@
+package arona.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import arona.parser.CommandLine;
+import arona.task.TaskList;
+import arona.ui.Ui;
+
+/**
+ * Unit tests for the CommandRegistry class.
+ */
+public class CommandRegistryTest {
+
+    /**
+     * Tests finding commands by keyword, alias and unambiguous prefix.
+     */
+    @Test
+    public void parseTest() {
+        CommandRegistry registry = CommandRegistry.createDefault();
+        CommandContext context = new CommandContext(new TaskList(), new Ui(), null, new UndoLog(1));
+
+        assertTrue(registry.parse(new CommandLine("delete 1"), context) instanceof DeleteCommand);
+        assertTrue(registry.parse(new CommandLine("rm 1"), context) instanceof DeleteCommand);
+        assertTrue(registry.parse(new CommandLine("del 1"), context) instanceof DeleteCommand);
+        assertTrue(registry.parse(new CommandLine("blah"), context) instanceof InvalidCommand);
+
+        Command ambiguous = registry.parse(new CommandLine("de 1"), context);
+        assertTrue(ambiguous instanceof ErrorCommand);
+        assertEquals("Hmm... Did you mean deadline or delete?\n", ambiguous.execute());
+    }
+
+    /**
+     * Tests that commands without state are built once per context, and other commands every time.
+     */
+    @Test
+    public void reuseTest() {
+        CommandRegistry registry = CommandRegistry.createDefault();
+        CommandContext context = new CommandContext(new TaskList(), new Ui(), null, new UndoLog(1));
+
+        assertSame(registry.parse(new CommandLine("list"), context), registry.parse(new CommandLine("ls"), context));
+        assertSame(registry.parse(new CommandLine("undo"), context), registry.parse(new CommandLine("undo"), context));
+        assertNotSame(registry.parse(new CommandLine("list 2"), context),
+                registry.parse(new CommandLine("list 2"), context));
+    }
+}
@@ -0,0 +1,150 @@
+package arona.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import arona.storage.HistoryLog;
+import arona.storage.Storage;
+import arona.storage.StorageConverter;
+import arona.storage.StorageFormat;
+import arona.task.ConcurrentTaskList;
+import arona.task.DeadlineTask;
+import arona.task.TaskList;
+import arona.task.ToDoTask;
+
+/**
+ * Unit tests for the UndoLog class.
+ */
+public class UndoLogTest {
+
+    /**
+     * Tests that a full log forgets its oldest change and that recording a change clears the redo history.
+     */
+    @Test
+    public void undoAndRedoTest() {
+        UndoLog undoLog = new UndoLog(2);
+        TaskChange first = new TaskChange(TaskChange.Kind.ADD, new ToDoTask("first"));
+        TaskChange second = new TaskChange(TaskChange.Kind.ADD, new ToDoTask("second"));
+        TaskChange third = new TaskChange(TaskChange.Kind.ADD, new ToDoTask("third"));
+        undoLog.record(first);
+        undoLog.record(second);
+        undoLog.record(third);
+
+        assertEquals(third, undoLog.undo());
+        assertEquals(second, undoLog.undo());
+        assertNull(undoLog.undo());
+        assertEquals(second, undoLog.redo());
+
+        undoLog.record(first);
+        assertNull(undoLog.redo());
+        assertEquals(first, undoLog.undo());
+        assertEquals(second, undoLog.undo());
+        assertNull(undoLog.undo());
+    }
+
+    /**
+     * Tests that a deleted task can be brought back by undo after the application is restarted.
+     */
+    @Test
+    public void undoAfterRestartTest(@TempDir Path tempDir) {
+        String filePath = tempDir.resolve("arona.txt").toString();
+        Storage storage = new Storage(filePath);
+        TaskList taskList = new TaskList(storage);
+        UndoLog undoLog = new UndoLog(UndoLog.DEFAULT_CAPACITY, new HistoryLog(filePath, 10), taskList);
+        ToDoTask task = new ToDoTask("read book");
+        storage.saveTask(task);
+        taskList.add(task);
+        undoLog.record(new TaskChange(TaskChange.Kind.ADD, task));
+        taskList.remove(0);
+        storage.deleteTask(task.getId());
+        undoLog.record(new TaskChange(TaskChange.Kind.DELETE, task));
+        storage.close();
+        undoLog.close();
+
+        storage = new Storage(filePath);
+        taskList = new TaskList(storage);
+        undoLog = new UndoLog(UndoLog.DEFAULT_CAPACITY, new HistoryLog(filePath, 10), taskList);
+        assertEquals(0, taskList.size());
+        undoLog.undo().undo(taskList, storage);
+        assertEquals("[T][ ] read book", taskList.get(0).toString());
+        storage.close();
+        undoLog.close();
+
+        taskList = new TaskList(new Storage(filePath));
+        assertEquals(1, taskList.size());
+    }
+
+    /**
+     * Tests that a deleted task whose description holds the field separator, a line break and an escape
+     * is brought back unchanged by undo after a restart. Such descriptions can be kept in a binary storage file.
+     */
+    @Test
+    public void undoAfterRestartEscapedTest(@TempDir Path tempDir) throws IOException {
+        Path textPath = tempDir.resolve("arona.txt");
+        Files.createFile(textPath);
+        String filePath = tempDir.resolve("arona.bin").toString();
+        StorageConverter.convert(textPath, Paths.get(filePath), StorageFormat.BINARY);
+        String description = "pros | cons\n100%7C done";
+        Storage storage = new Storage(filePath);
+        TaskList taskList = new TaskList(storage);
+        UndoLog undoLog = new UndoLog(UndoLog.DEFAULT_CAPACITY, new HistoryLog(filePath, 10), taskList);
+        DeadlineTask task = new DeadlineTask(description, LocalDate.of(2023, 9, 15));
+        storage.saveTask(task);
+        taskList.add(task);
+        undoLog.record(new TaskChange(TaskChange.Kind.ADD, task));
+        taskList.remove(0);
+        storage.deleteTask(task.getId());
+        undoLog.record(new TaskChange(TaskChange.Kind.DELETE, task));
+        storage.close();
+        undoLog.close();
+
+        storage = new Storage(filePath);
+        taskList = new TaskList(storage);
+        undoLog = new UndoLog(UndoLog.DEFAULT_CAPACITY, new HistoryLog(filePath, 10), taskList);
+        assertEquals(0, taskList.size());
+        undoLog.undo().undo(taskList, storage);
+        assertEquals(description, taskList.get(0).getDescription());
+        assertEquals(LocalDate.of(2023, 9, 15), ((DeadlineTask) taskList.get(0)).getDate());
+        storage.close();
+        undoLog.close();
+    }
+
+    /**
+     * Tests that sessions sharing a task list each undo their own changes, and that undoing a change
+     * another session has already reversed leaves the task list as it is.
+     */
+    @Test
+    public void undoPerSessionTest(@TempDir Path tempDir) {
+        Storage storage = new Storage(tempDir.resolve("arona.txt").toString());
+        TaskList taskList = new ConcurrentTaskList(storage);
+        UndoLog first = new UndoLog(UndoLog.DEFAULT_CAPACITY);
+        UndoLog second = new UndoLog(UndoLog.DEFAULT_CAPACITY);
+        ToDoTask task = new ToDoTask("read book");
+        storage.saveTask(task);
+        taskList.add(task);
+        first.record(new TaskChange(TaskChange.Kind.ADD, task));
+        taskList.remove(0);
+        storage.deleteTask(task.getId());
+        second.record(new TaskChange(TaskChange.Kind.DELETE, task));
+
+        first.undo().undo(taskList, storage);
+        assertEquals(0, taskList.size());
+        TaskChange delete = second.undo();
+        delete.undo(taskList, storage);
+        assertEquals(1, taskList.size());
+        delete.undo(taskList, storage);
+        assertEquals(1, taskList.size());
+        storage.close();
+
+        assertEquals(1, new TaskList(new Storage(tempDir.resolve("arona.txt").toString())).size());
+    }
+}
@@ -2,12 +2,17 @@ package arona.parser;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import arona.commands.ListCommand;
 import arona.exception.IllegalArgumentAronaException;
+import arona.task.SearchQuery;
+import arona.task.TaskSelector;
 
 
 
@@ -17,24 +22,23 @@ import arona.exception.IllegalArgumentAronaException;
 public class ParserTest {
 
     /**
-     * Tests parsing user input into an array of tokens.
+     * Tests splitting a line into tokens, with runs of whitespace between and around words skipped.
      */
     @Test
-    public void parseUserInputTest() {
-        String input = "todo description";
-        String[] result = Parser.parseUserInput(input);
+    public void getTokensTest() {
+        CommandLine line = new CommandLine("  todo \t description  ");
         String[] expected = {"todo", "description"};
-        assertArrayEquals(expected, result);
+        assertArrayEquals(expected, line.getTokens());
     }
 
     /**
-     * Tests extracting the command from an array of tokens.
+     * Tests extracting the command from a line, in lowercase.
      */
     @Test
     public void getCommandTest() {
-        String[] tokens = {"deadline", "description", "/by", "2023-09-15"};
-        String result = Parser.getCommand(tokens);
-        assertEquals("deadline", result);
+        CommandLine line = new CommandLine("Deadline description /by 2023-09-15");
+        assertEquals("deadline", line.getCommand());
+        assertEquals("", new CommandLine("   ").getCommand());
     }
 
     /**
@@ -42,8 +46,8 @@ public class ParserTest {
      */
     @Test
     public void getToDoDescriptionTest() throws IllegalArgumentAronaException {
-        String[] tokens = {"todo", "description"};
-        String result = Parser.getToDoDescription(tokens);
+        CommandLine line = new CommandLine("todo description");
+        String result = Parser.getToDoDescription(line);
         assertEquals("description", result);
     }
 
@@ -52,8 +56,8 @@ public class ParserTest {
      */
     @Test
     public void getDeadlineDescriptionTest() throws IllegalArgumentAronaException {
-        String[] tokens = {"deadline", "description", "/by", "2023-09-15"};
-        String[] result = Parser.getDeadlineDescription(tokens);
+        CommandLine line = new CommandLine("deadline description /by 2023-09-15");
+        String[] result = Parser.getDeadlineDescription(line);
         String[] expected = {"description", "2023-09-15"};
         assertArrayEquals(expected, result);
     }
@@ -63,12 +67,26 @@ public class ParserTest {
      */
     @Test
     public void getEventDescriptionTest() throws IllegalArgumentAronaException {
-        String[] tokens = {"event", "description", "/from", "2023-09-15", "/to", "2023-09-16"};
-        String[] result = Parser.getEventDescription(tokens);
+        CommandLine line = new CommandLine("event description /from 2023-09-15 /to 2023-09-16");
+        String[] result = Parser.getEventDescription(line);
         String[] expected = {"description", "from: 2023-09-15", "to: 2023-09-16"};
         assertArrayEquals(expected, result);
     }
 
+    /**
+     * Tests slicing words around markers, with extra whitespace collapsed.
+     */
+    @Test
+    public void commandLineTest() {
+        CommandLine line = new CommandLine("  Deadline   read\tthe   book /by  2023-09-15 ");
+        assertEquals("deadline", line.getCommand());
+        int byIndex = line.findMarker("/by", line.getArgumentsStart());
+        assertEquals("read the book", line.slice(line.getArgumentsStart(), byIndex));
+        assertEquals("2023-09-15", line.slice(byIndex + "/by".length(), line.length()));
+        assertEquals(-1, line.findMarker("/b", line.getArgumentsStart()));
+        assertArrayEquals(new String[] {"Deadline", "read", "the", "book", "/by", "2023-09-15"}, line.getTokens());
+    }
+
     /**
      * Tests parsing a date string into a LocalDate object.
      */
@@ -89,4 +107,58 @@ public class ParserTest {
         int result = Parser.getTaskIndex(tokens);
         assertEquals(1, result);
     }
+
+    /**
+     * Tests building a search query with OR, a prefix keyword and a limit.
+     */
+    @Test
+    public void getSearchQueryTest() throws IllegalArgumentAronaException {
+        String[] tokens = {"find", "Meet*", "notes", "OR", "lunch", "/limit", "5"};
+        SearchQuery result = Parser.getSearchQuery(tokens);
+        assertEquals(List.of(List.of("meet*", "notes"), List.of("lunch")), result.getGroups());
+        assertEquals(5, result.getLimit());
+    }
+
+    /**
+     * Tests parsing lines of a file to import, written as commands or as lines of the storage file.
+     */
+    @Test
+    public void parseTaskTest() throws IllegalArgumentAronaException {
+        assertEquals("[T][ ] read book", Parser.parseTask("  todo read book").toString());
+        assertEquals("[D][ ] essay (Sep 15 2023)", Parser.parseTask("deadline essay /by 2023-09-15").toString());
+        assertEquals("[T][X] return book", Parser.parseTask("T|1|return book").toString());
+        assertThrows(IllegalArgumentAronaException.class, () -> Parser.parseTask("deadline essay /by friday"));
+        assertThrows(IllegalArgumentAronaException.class, () -> Parser.parseTask("list"));
+    }
+
+    /**
+     * Tests building a selection of tasks from a range, a status and a search.
+     */
+    @Test
+    public void getTaskSelectorTest() throws IllegalArgumentAronaException {
+        String[] tokens = {"delete", "10-400", "done", "find:report", "or", "essay"};
+        TaskSelector result = Parser.getTaskSelector(tokens);
+        assertEquals(9, result.getFrom());
+        assertEquals(400, result.getTo());
+        assertEquals(TaskSelector.Status.DONE, result.getStatus());
+        assertEquals(List.of(List.of("report"), List.of("essay")), result.getQuery().getGroups());
+
+        assertEquals(TaskSelector.TO_END, Parser.getTaskSelector(new String[] {"mark", "all"}).getTo());
+        assertThrows(IllegalArgumentAronaException.class, () -> Parser.getTaskSelector(new String[] {"mark", "5-2"}));
+    }
+
+    /**
+     * Tests reading the page and page size of a list command, with defaults for the parts left out.
+     */
+    @Test
+    public void getListPageTest() throws IllegalArgumentAronaException {
+        assertArrayEquals(new int[] {1, ListCommand.DEFAULT_PAGE_SIZE}, Parser.getListPage(new String[] {"list"}));
+        assertArrayEquals(new int[] {3, ListCommand.DEFAULT_PAGE_SIZE},
+                Parser.getListPage(new String[] {"list", "3"}));
+        assertArrayEquals(new int[] {2, 10}, Parser.getListPage(new String[] {"list", "2", "10"}));
+        assertThrows(IllegalArgumentAronaException.class, () -> Parser.getListPage(new String[] {"list", "0"}));
+        assertThrows(IllegalArgumentAronaException.class, () -> Parser.getListPage(new String[] {"list", "1", "x"}));
+        assertThrows(IllegalArgumentAronaException.class, () ->
+                Parser.getListPage(new String[] {"list", "1", "2", "3"}));
+    }
 }
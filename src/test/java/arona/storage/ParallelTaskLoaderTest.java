@@ -0,0 +1,64 @@
+package arona.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import arona.task.Task;
+
+/**
+ * Unit tests for the ParallelTaskLoader class, splitting small files into many chunks.
+ */
+public class ParallelTaskLoaderTest {
+
+    private static void assertSameLoad(Path file) throws IOException {
+        List<Task> expectedTasks = new ArrayList<>();
+        RecordIndex expectedIndex = new RecordIndex();
+        MappedTaskLoader.load(file, expectedTasks, expectedIndex);
+        List<Task> tasks = new ArrayList<>();
+        RecordIndex index = new RecordIndex();
+        ParallelTaskLoader.load(file, tasks, index, 0, 64);
+
+        assertEquals(expectedTasks.size(), tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(expectedTasks.get(i).getId(), tasks.get(i).getId());
+            assertEquals(expectedTasks.get(i).toString(), tasks.get(i).toString());
+        }
+        assertEquals(expectedIndex.size(), index.size());
+        for (int id = 0; id < index.size(); id++) {
+            assertEquals(expectedIndex.getOffset(id), index.getOffset(id));
+            assertEquals(expectedIndex.getTag(id), index.getTag(id));
+        }
+    }
+
+    /**
+     * Tests that loading in chunks gives the same tasks, IDs and record offsets as loading sequentially,
+     * with deleted tasks spread across the chunks.
+     */
+    @Test
+    public void chunkedLoadTest(@TempDir Path tempDir) throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            if (i % 3 == 0) {
+                data.append(i % 7 == 0 ? "t" : "T").append("|0|task ").append(i).append("\n");
+            } else if (i % 3 == 1) {
+                data.append(i % 7 == 0 ? "d" : "D").append("|1|deadline ").append(i).append("|2023-09-15\n");
+            } else {
+                data.append(i % 7 == 0 ? "e" : "E").append("|0|event ").append(i).append("|mon|tue\n");
+            }
+        }
+        Path file = tempDir.resolve("arona.txt");
+        Files.write(file, data.toString().getBytes());
+        assertSameLoad(file);
+
+        Files.write(file, (data + "T|1|last line without newline").getBytes());
+        assertSameLoad(file);
+    }
+}
@@ -1,20 +1,28 @@
 package arona.storage;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import arona.task.DeadlineTask;
 import arona.task.EventTask;
 import arona.task.Task;
+import arona.task.TaskList;
+import arona.task.ToDoTask;
 
 
 
@@ -154,4 +162,315 @@ public class StorageTest {
         assertEquals("Task 1", tasks.get(0).getDescription());
         assertEquals("Task 3", tasks.get(1).getDescription());
     }
+
+    /**
+     * Tests that journaled mutations leave the storage file untouched and are replayed on load.
+     */
+    @Test
+    public void journaledMutationsReplayedOnLoadTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Files.write(filePath, "T|0|Task 1\nD|0|Task 2|2023-09-15\n".getBytes());
+        Storage storage = new Storage(filePath.toString(), true);
+        ArrayList<Task> loaded = new ArrayList<>();
+        storage.loadTasks(loaded);
+
+        storage.saveTask(new ToDoTask("Task 3"));
+        storage.updateTaskStatusAsMarked(1);
+        storage.deleteTask(0);
+        storage.restoreTask(loaded.get(0));
+
+        // The storage file itself is only rewritten on compaction
+        assertEquals(2, Files.readAllLines(filePath).size());
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        new Storage(filePath.toString(), true).loadTasks(tasks);
+        assertEquals(3, tasks.size());
+        assertEquals("Task 1", tasks.get(0).getDescription());
+        assertEquals("[X] ", tasks.get(1).getStatusIcon());
+        assertEquals("Task 3", tasks.get(2).getDescription());
+        assertEquals(2, tasks.get(2).getId());
+    }
+
+    /**
+     * Tests that changes journaled in one session are kept when the next session does not journal,
+     * and are not replayed again when a later session journals once more.
+     */
+    @Test
+    public void switchStorageModeTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Storage storage = new Storage(filePath.toString(), true);
+        ArrayList<Task> tasks = new ArrayList<>();
+        storage.loadTasks(tasks);
+        for (int i = 0; i < 3; i++) {
+            storage.saveTask(new ToDoTask("Task " + i));
+        }
+        storage.updateTaskStatusAsMarked(1);
+        storage.deleteTask(0);
+        storage.close();
+
+        storage = new Storage(filePath.toString());
+        assertFalse(Files.exists(Journal.getPath(filePath)));
+        tasks = new ArrayList<>();
+        storage.loadTasks(tasks);
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] Task 1", tasks.get(0).toString());
+        storage.updateTaskStatusAsUnmarked(1);
+        Task deleted = new ToDoTask("Task 0");
+        deleted.setId(0);
+        storage.restoreTask(deleted);
+        storage.close();
+
+        tasks = new ArrayList<>();
+        new Storage(filePath.toString(), true).loadTasks(tasks);
+        assertEquals(3, tasks.size());
+        assertEquals("[T][ ] Task 0", tasks.get(0).toString());
+        assertEquals("[T][ ] Task 1", tasks.get(1).toString());
+    }
+
+    /**
+     * Tests that a journaled task whose description holds the field separator and a line break is replayed
+     * unchanged into a binary storage file, which can keep such descriptions.
+     */
+    @Test
+    public void journaledEscapedDescriptionTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.bin");
+        Storage.writeTasks(List.of(), filePath, StorageFormat.BINARY);
+        Storage storage = new Storage(filePath.toString(), true);
+        storage.loadTasks(new ArrayList<>());
+        storage.saveTask(new EventTask("pros | cons\nlist", "mon", "tue | wed"));
+        storage.close();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        new Storage(filePath.toString(), true).loadTasks(tasks);
+        assertEquals(1, tasks.size());
+        assertEquals("pros | cons\nlist", tasks.get(0).getDescription());
+        assertEquals("tue | wed", ((EventTask) tasks.get(0)).getTo());
+    }
+
+    /**
+     * Tests that closing journaled storage lets a background compaction finish, so the storage file
+     * holds every task and no journal is left behind.
+     */
+    @Test
+    public void closeFinishesCompactionTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Storage storage = new Storage(filePath.toString(), true);
+        storage.loadTasks(new ArrayList<>());
+        for (int i = 0; i < Storage.JOURNAL_COMPACTION_THRESHOLD; i++) {
+            storage.saveTask(new ToDoTask("Task " + i));
+        }
+        storage.close();
+
+        assertFalse(Files.exists(Journal.getRotatedPath(filePath)));
+        List<String> lines = Files.readAllLines(filePath);
+        assertEquals(Storage.JOURNAL_COMPACTION_THRESHOLD, lines.size());
+        assertEquals("T|0|Task 999", lines.get(lines.size() - 1));
+    }
+
+    /**
+     * Tests that batched writes reach the storage file once storage is flushed.
+     */
+    @Test
+    public void batchedWritesFlushedTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Storage storage = new Storage(filePath.toString());
+        storage.setSyncPolicy(SyncPolicy.ON_CLOSE);
+
+        for (int i = 0; i < 100; i++) {
+            storage.saveTask(new ToDoTask("Task " + i));
+        }
+        storage.flush();
+
+        assertEquals(100, Files.readAllLines(filePath).size());
+        assertEquals("T|0|Task 99", Files.readAllLines(filePath).get(99));
+        storage.close();
+    }
+
+    /**
+     * Tests loading a file with mixed line endings, blank lines and unknown rows.
+     */
+    @Test
+    public void loadTasksMixedLineEndingsTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Files.write(filePath, "T|1|Task 1\r\n\nX|0|ignored\rD|0|Task 2|2023-09-15\nE|0|Task 3||to: 4pm".getBytes());
+        ArrayList<Task> tasks = new ArrayList<>();
+
+        new Storage(filePath.toString()).loadTasks(tasks);
+
+        assertEquals(3, tasks.size());
+        assertEquals("[X] ", tasks.get(0).getStatusIcon());
+        assertEquals(LocalDate.of(2023, 9, 15), ((DeadlineTask) tasks.get(1)).getDate());
+        assertEquals("", ((EventTask) tasks.get(2)).getFrom());
+        assertEquals("to: 4pm", ((EventTask) tasks.get(2)).getTo());
+    }
+
+    /**
+     * Tests converting a text file to the binary format and updating it in place.
+     */
+    @Test
+    public void binaryFormatRoundTripTest(@TempDir Path tempDir) throws IOException {
+        Path textPath = tempDir.resolve("arona.txt");
+        Path binaryPath = tempDir.resolve("arona.bin");
+        Files.write(textPath, "T|0|Task 1\nD|1|Task 2|2023-09-15\nE|0|Task 3|from: mon|to: tue\n".getBytes());
+
+        assertEquals(3, StorageConverter.convert(textPath, binaryPath, StorageFormat.BINARY));
+        Storage storage = new Storage(binaryPath.toString());
+        assertEquals(StorageFormat.BINARY, storage.getFormat());
+
+        storage.saveTask(new ToDoTask("Task | with a pipe"));
+        storage.updateTaskStatusAsMarked(0);
+        storage.deleteTask(2);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        storage.loadTasks(tasks);
+        assertEquals(3, tasks.size());
+        assertEquals("[X] ", tasks.get(0).getStatusIcon());
+        assertEquals(LocalDate.of(2023, 9, 15), ((DeadlineTask) tasks.get(1)).getDate());
+        assertEquals("Task | with a pipe", tasks.get(2).getDescription());
+    }
+
+    /**
+     * Tests that converting a file folds in its pending journal, and removes the journal once the IDs change.
+     */
+    @Test
+    public void convertWithJournalTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Files.write(filePath, "T|0|Task 1\nD|0|Task 2|2023-09-15\nT|0|Task 3\n".getBytes());
+        Storage storage = new Storage(filePath.toString(), true);
+        storage.loadTasks(new ArrayList<>());
+        storage.deleteTask(0);
+        storage.updateTaskStatusAsMarked(2);
+        storage.saveTask(new ToDoTask("Task 4"));
+        storage.close();
+
+        assertEquals(3, StorageConverter.convert(filePath, filePath, StorageFormat.BINARY));
+        assertFalse(Files.exists(Journal.getPath(filePath)));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        storage = new Storage(filePath.toString(), true);
+        storage.loadTasks(tasks);
+        assertEquals(StorageFormat.BINARY, storage.getFormat());
+        assertEquals(3, tasks.size());
+        assertEquals("Task 2", tasks.get(0).getDescription());
+        assertEquals("[X] ", tasks.get(1).getStatusIcon());
+        assertEquals("Task 4", tasks.get(2).getDescription());
+        assertEquals(2, tasks.get(2).getId());
+        storage.close();
+    }
+
+    /**
+     * Tests that a description with a pipe and a line break survives converting from the binary format
+     * to the text format and back.
+     */
+    @Test
+    public void convertEscapedDescriptionTest(@TempDir Path tempDir) throws IOException {
+        Path binaryPath = tempDir.resolve("arona.bin");
+        Path textPath = tempDir.resolve("arona.txt");
+        Storage.writeTasks(List.of(new ToDoTask("Task | with a pipe\nand 100% more lines"),
+                new DeadlineTask("Task 2", LocalDate.of(2023, 9, 15))), binaryPath, StorageFormat.BINARY);
+
+        assertEquals(2, StorageConverter.convert(binaryPath, textPath, StorageFormat.TEXT));
+        assertEquals(2, Files.readAllLines(textPath).size());
+        assertEquals(2, StorageConverter.convert(textPath, binaryPath, StorageFormat.BINARY));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        Storage storage = new Storage(binaryPath.toString());
+        storage.loadTasks(tasks);
+        assertEquals(2, tasks.size());
+        assertEquals("Task | with a pipe\nand 100% more lines", tasks.get(0).getDescription());
+        assertEquals(LocalDate.of(2023, 9, 15), ((DeadlineTask) tasks.get(1)).getDate());
+    }
+
+    /**
+     * Tests that converting a file with enough tombstones to be reclaimed leaves the file,
+     * its journal and its history unchanged.
+     */
+    @Test
+    public void convertLeavesSourceTest(@TempDir Path tempDir) throws IOException {
+        Path sourcePath = tempDir.resolve("arona.txt");
+        Path targetPath = tempDir.resolve("arona.bin");
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            data.append(i % 2 == 0 ? "t" : "T").append("|0|Task ").append(i).append("\n");
+        }
+        Files.write(sourcePath, data.toString().getBytes());
+        Files.write(Journal.getPath(sourcePath), "M|1\nX|3\n".getBytes());
+        Files.write(HistoryLog.getPath(sourcePath), "C|DELETE|299|T|0|Task 299\n".getBytes());
+        byte[] source = Files.readAllBytes(sourcePath);
+        byte[] journal = Files.readAllBytes(Journal.getPath(sourcePath));
+        byte[] history = Files.readAllBytes(HistoryLog.getPath(sourcePath));
+
+        assertEquals(149, StorageConverter.convert(sourcePath, targetPath, StorageFormat.BINARY));
+        assertArrayEquals(source, Files.readAllBytes(sourcePath));
+        assertArrayEquals(journal, Files.readAllBytes(Journal.getPath(sourcePath)));
+        assertArrayEquals(history, Files.readAllBytes(HistoryLog.getPath(sourcePath)));
+        assertFalse(Files.exists(Journal.getRotatedPath(sourcePath)));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        Storage storage = new Storage(targetPath.toString());
+        storage.loadTasks(tasks);
+        assertEquals("[X] ", tasks.get(0).getStatusIcon());
+        assertEquals("Task 5", tasks.get(1).getDescription());
+    }
+
+    /**
+     * Tests that tombstones the history does not refer to are dropped on the first load,
+     * and that the history is given the new IDs so a deleted task can still be restored.
+     */
+    @Test
+    public void reclaimTombstonesTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Files.write(filePath, ("T|0|Task 0\nt|0|Task 1\nt|0|Task 2\nT|1|Task 3\nt|0|Task 4\n"
+                + "D|0|Task 5|2023-09-15\n").getBytes());
+        Files.write(HistoryLog.getPath(filePath), "C|DELETE|4|T|0|Task 4\nC|ADD|5|D|0|Task 5|2023-09-15\n".getBytes());
+        Storage storage = new Storage(filePath.toString());
+        storage.setReclaimMinimum(1);
+        ArrayList<Task> tasks = new ArrayList<>();
+        storage.loadTasks(tasks);
+
+        assertEquals("T|0|Task 0\nT|1|Task 3\nt|0|Task 4\nD|0|Task 5|2023-09-15\n", Files.readString(filePath));
+        assertEquals(3, tasks.size());
+        assertEquals(1, tasks.get(1).getId());
+        assertEquals(3, tasks.get(2).getId());
+
+        List<HistoryLog.Record> records = new HistoryLog(filePath.toString(), 10).load(new TaskList(tasks));
+        Task deleted = records.get(0).getTasks().get(0);
+        assertEquals(2, deleted.getId());
+        assertEquals(tasks.get(2), records.get(1).getTasks().get(0));
+        storage.restoreTask(deleted);
+        storage.close();
+        assertEquals("T|0|Task 0\nT|1|Task 3\nT|0|Task 4\nD|0|Task 5|2023-09-15\n", Files.readString(filePath));
+    }
+
+    /**
+     * Tests that changes after a load patch the file in place, keeping the other lines byte for byte,
+     * and that deleted tasks keep their IDs.
+     */
+    @Test
+    public void inPlaceUpdatesAfterLoadTest(@TempDir Path tempDir) throws IOException {
+        Path filePath = tempDir.resolve("arona.txt");
+        Files.write(filePath, "T|0|Task 1\r\nD|0|Task 2|2023-09-15\nE|0|Task 3|mon|tue".getBytes());
+        Storage storage = new Storage(filePath.toString());
+        ArrayList<Task> loaded = new ArrayList<>();
+        storage.loadTasks(loaded);
+
+        storage.updateTaskStatusAsMarked(1);
+        storage.deleteTask(0);
+        storage.saveTask(new ToDoTask("Task 4"));
+        storage.close();
+
+        assertEquals("t|0|Task 1\r\nD|1|Task 2|2023-09-15\nE|0|Task 3|mon|tue\nT|0|Task 4\n",
+                Files.readString(filePath));
+
+        storage = new Storage(filePath.toString());
+        ArrayList<Task> tasks = new ArrayList<>();
+        storage.loadTasks(tasks);
+        assertEquals(3, tasks.size());
+        assertEquals(3, tasks.get(2).getId());
+
+        storage.restoreTask(loaded.get(0));
+        storage.close();
+        assertEquals("T|0|Task 1\r\nD|1|Task 2|2023-09-15\nE|0|Task 3|mon|tue\nT|0|Task 4\n",
+                Files.readString(filePath));
+    }
 }
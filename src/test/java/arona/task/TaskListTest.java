@@ -0,0 +1,201 @@
+package arona.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the TaskList class.
+ */
+public class TaskListTest {
+
+    /**
+     * Tests that a deleted task keeps its ID and goes back to its old place when restored.
+     */
+    @Test
+    public void deleteAndRestoreTest() {
+        TaskList taskList = new TaskList();
+        Task first = new ToDoTask("first");
+        Task second = new ToDoTask("second");
+        Task third = new ToDoTask("third");
+        taskList.add(first);
+        taskList.add(second);
+        taskList.add(third);
+
+        assertTrue(taskList.delete(second));
+        assertEquals(2, taskList.size());
+        assertEquals(third, taskList.get(1));
+        assertNull(taskList.getById(1));
+
+        taskList.restore(second);
+        List<Task> tasks = new ArrayList<>();
+        taskList.forEach(tasks::add);
+        assertEquals(List.of(first, second, third), tasks);
+        assertEquals(second, taskList.getById(1));
+
+        Task fourth = new ToDoTask("fourth");
+        taskList.add(fourth);
+        assertEquals(3, fourth.getId());
+    }
+
+    /**
+     * Tests reading and removing tasks by position after many removals.
+     */
+    @Test
+    public void positionalAccessTest() {
+        TaskList taskList = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new ToDoTask("task " + i);
+            taskList.add(task);
+            expected.add(task);
+        }
+        for (int i = expected.size() - 1; i >= 0; i -= 3) {
+            assertEquals(expected.remove(i), taskList.remove(i));
+        }
+
+        assertEquals(expected.size(), taskList.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), taskList.get(i));
+        }
+        assertEquals(expected.subList(10, 40), taskList.getRange(10, 40));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskList.get(expected.size()));
+    }
+
+    /**
+     * Tests reading ranges and iterating over a list where most slots were emptied, in long and short gaps.
+     */
+    @Test
+    public void sparseRangeTest() {
+        TaskList taskList = new TaskList();
+        List<Task> kept = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            Task task = new ToDoTask("task " + i);
+            taskList.add(task);
+            if (i % 1000 == 999 || i == 0 || i == 1 || i == 5000) {
+                kept.add(task);
+            }
+        }
+        for (Task task : new ArrayList<Task>(taskList.getRange(0, taskList.size()))) {
+            if (!kept.contains(task)) {
+                taskList.delete(task);
+            }
+        }
+
+        assertEquals(kept, taskList.getRange(0, kept.size()));
+        assertEquals(kept.subList(2, 5), taskList.getRange(2, 5));
+        List<Task> iterated = new ArrayList<>();
+        taskList.forEach(iterated::add);
+        assertEquals(kept, iterated);
+
+        RankTree filledSlots = new RankTree();
+        filledSlots.fill(3);
+        filledSlots.fill(700);
+        assertEquals(3, filledSlots.next(0));
+        assertEquals(700, filledSlots.next(4));
+        assertEquals(-1, filledSlots.next(701));
+        assertEquals(-1, filledSlots.next(5000));
+    }
+
+    /**
+     * Tests that the word index follows additions, deletions and restorations.
+     */
+    @Test
+    public void findAfterChangesTest() {
+        TaskList taskList = new TaskList();
+        Task meeting = new ToDoTask("team meeting");
+        Task book = new ToDoTask("return book");
+        Task review = new ToDoTask("review\tmeeting notes");
+        taskList.add(meeting);
+        taskList.add(book);
+
+        assertEquals(List.of(meeting), taskList.find(new SearchQuery("meeting")));
+
+        taskList.add(review);
+        taskList.delete(meeting);
+        assertEquals(List.of(review), taskList.find(new SearchQuery("meeting")));
+
+        taskList.restore(meeting);
+        assertEquals(List.of(meeting, review), taskList.find(new SearchQuery("meeting")));
+        assertTrue(taskList.find(new SearchQuery("meet")).isEmpty());
+    }
+
+    /**
+     * Tests AND, OR, prefix and case-insensitive matching with a limit.
+     */
+    @Test
+    public void findWithQueryTest() {
+        TaskList taskList = new TaskList();
+        Task meeting = new ToDoTask("Team Meeting");
+        Task meetup = new ToDoTask("meetup with team");
+        Task lunch = new ToDoTask("lunch");
+        taskList.add(meeting);
+        taskList.add(meetup);
+        taskList.add(lunch);
+
+        assertEquals(List.of(meeting, meetup), taskList.find(new SearchQuery("MEET*")));
+        assertEquals(List.of(meetup), taskList.find(new SearchQuery(
+                List.of(List.of("meet*", "with")), SearchQuery.NO_LIMIT)));
+        assertEquals(List.of(meeting, lunch), taskList.find(new SearchQuery(
+                List.of(List.of("meeting"), List.of("lunch")), SearchQuery.NO_LIMIT)));
+        assertEquals(List.of(meeting), taskList.find(new SearchQuery(List.of(List.of("team")), 1)));
+    }
+
+    /**
+     * Tests that deadline queries follow additions and removals and ignore other tasks.
+     */
+    @Test
+    public void findDueAndOverdueTest() {
+        TaskList taskList = new TaskList();
+        DeadlineTask report = new DeadlineTask("report", LocalDate.of(2023, 9, 20));
+        DeadlineTask essay = new DeadlineTask("essay", LocalDate.of(2023, 9, 10));
+        DeadlineTask quiz = new DeadlineTask("quiz", LocalDate.of(2023, 9, 1), 1);
+        taskList.add(report);
+        taskList.add(new ToDoTask("read"));
+        taskList.add(essay);
+        taskList.add(quiz);
+
+        assertEquals(List.of(essay, report),
+                taskList.findDueBetween(LocalDate.of(2023, 9, 5), LocalDate.of(2023, 9, 20)));
+        assertEquals(List.of(essay), taskList.findOverdue(LocalDate.of(2023, 9, 15)));
+
+        taskList.delete(essay);
+        assertTrue(taskList.findOverdue(LocalDate.of(2023, 9, 15)).isEmpty());
+        taskList.restore(essay);
+        assertEquals(List.of(quiz, essay),
+                taskList.findDueBetween(LocalDate.of(2023, 9, 1), LocalDate.of(2023, 9, 10)));
+    }
+
+    /**
+     * Tests finding events by time and checking an event for clashes.
+     */
+    @Test
+    public void findEventsAndClashesTest() {
+        TaskList taskList = new TaskList();
+        EventTask lecture = new EventTask("lecture", "from: 2023-10-15 2pm", "to: 4pm");
+        EventTask lunch = new EventTask("lunch", "from: 2023-10-15 1200", "to: 1430");
+        EventTask trip = new EventTask("trip", "from: 2023-10-16", "to: 2023-10-18");
+        EventTask party = new EventTask("party", "from: mon 2pm", "to: 4pm");
+        taskList.add(lecture);
+        taskList.add(lunch);
+        taskList.add(trip);
+        taskList.add(party);
+
+        assertEquals(LocalDateTime.of(2023, 10, 15, 16, 0), lecture.getEnd());
+        assertEquals(List.of(lunch), taskList.findClashes(lecture));
+        assertEquals(List.of(lunch, lecture, trip), taskList.findEventsBetween(
+                LocalDateTime.of(2023, 10, 15, 0, 0), LocalDateTime.of(2023, 10, 17, 0, 0)));
+        assertTrue(taskList.findClashes(party).isEmpty());
+
+        taskList.delete(lunch);
+        assertTrue(taskList.findClashes(lecture).isEmpty());
+    }
+}
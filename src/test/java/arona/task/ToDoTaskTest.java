@@ -53,4 +53,17 @@ public class ToDoTaskTest {
 
         assertEquals("[T][ ] " + description, taskString);
     }
+
+    /**
+     * Tests that the line shown in lists follows the task when it is marked and unmarked.
+     */
+    @Test
+    public void displayLineTest() {
+        ToDoTask task = new ToDoTask("Read a book");
+        assertEquals("[T][ ] Read a book", task.getDisplayLine());
+        task.mark();
+        assertEquals("[T][X] Read a book", task.getDisplayLine());
+        task.unMark();
+        assertEquals("[T][ ] Read a book", task.getDisplayLine());
+    }
 }
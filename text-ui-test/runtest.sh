@@ -6,14 +6,15 @@ then
     mkdir ../bin
 fi
 
-# delete output from previous run
+# delete output and data from previous run
 if [ -e "./ACTUAL.TXT" ]
 then
     rm ACTUAL.TXT
 fi
+rm -rf ./data
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/arona/*.java
+# compile the headless entry point and what it uses into the bin folder, terminates if error occurred
+if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/arona/Arona.java
 then
     echo "********** BUILD FAILURE **********"
     exit 1